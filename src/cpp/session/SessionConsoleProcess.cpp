@@ -466,6 +466,8 @@ bool ConsoleProcess::onContinue(core::system::ProcessOperations& ops)
 
    pid_ = ops.getPid();
 
+   flushPausedOutput();
+
    // continue
    return true;
 }
@@ -527,9 +529,11 @@ void ConsoleProcess::deleteEnvFile() const
    procInfo_->deleteEnvFile();
 }
 
-std::string ConsoleProcess::getSavedBufferChunk(int chunk, bool* pMoreAvailable) const
+std::string ConsoleProcess::getSavedBufferChunk(int chunk,
+                                                bool* pMoreAvailable,
+                                                int* pChunkCount) const
 {
-   return procInfo_->getSavedBufferChunk(chunk, pMoreAvailable);
+   return procInfo_->getSavedBufferChunk(chunk, pMoreAvailable, pChunkCount);
 }
 
 std::string ConsoleProcess::getBuffer() const
@@ -559,7 +563,33 @@ void ConsoleProcess::enqueOutputEvent(const std::string &output)
 
    if (procInfo_->getChannelMode() == Websocket)
    {
-      s_terminalSocket.sendText(procInfo_->getHandle(), output);
+      // While the client is catching up, hold output back and only keep
+      // as much of it as the client could show; the full output is still
+      // in the saved buffer should the client reload. Once the client has
+      // resumed, output still held back must go out ahead of this output.
+      std::string sendOutput;
+      LOCK_MUTEX(pausedOutputMutex_)
+      {
+         if (outputPaused_)
+         {
+            pausedOutput_.append(output);
+            string_utils::trimLeadingLines(procInfo_->getMaxOutputLines(), &pausedOutput_);
+            return;
+         }
+
+         if (pausedOutput_.empty())
+         {
+            sendOutput = output;
+         }
+         else
+         {
+            sendOutput.swap(pausedOutput_);
+            sendOutput.append(output);
+         }
+      }
+      END_LOCK_MUTEX
+
+      s_terminalSocket.sendText(procInfo_->getHandle(), sendOutput);
       return;
    }
 
@@ -916,6 +946,7 @@ ConsoleProcessSocketConnectionCallbacks ConsoleProcess::createConsoleProcessSock
 {
    ConsoleProcessSocketConnectionCallbacks cb;
    cb.onReceivedInput = boost::bind(&ConsoleProcess::onReceivedInput, ConsoleProcess::shared_from_this(), _1);
+   cb.onFlowControl = boost::bind(&ConsoleProcess::onFlowControl, ConsoleProcess::shared_from_this(), _1);
    cb.onConnectionOpened = boost::bind(&ConsoleProcess::onConnectionOpened, ConsoleProcess::shared_from_this());
    cb.onConnectionClosed = boost::bind(&ConsoleProcess::onConnectionClosed, ConsoleProcess::shared_from_this());
    return cb;
@@ -942,6 +973,40 @@ void ConsoleProcess::onReceivedInput(const std::string& input)
 void ConsoleProcess::onConnectionClosed()
 {
    s_terminalSocket.stopListening(handle());
+
+   // anything held back is in the saved buffer, which a reconnecting
+   // client reloads
+   LOCK_MUTEX(pausedOutputMutex_)
+   {
+      outputPaused_ = false;
+      pausedOutput_.clear();
+   }
+   END_LOCK_MUTEX
+}
+
+// client asked to pause or resume output; called on different thread
+void ConsoleProcess::onFlowControl(bool pause)
+{
+   LOCK_MUTEX(pausedOutputMutex_)
+   {
+      outputPaused_ = pause;
+   }
+   END_LOCK_MUTEX
+}
+
+// send output held back while paused, once client has resumed
+void ConsoleProcess::flushPausedOutput()
+{
+   std::string output;
+   LOCK_MUTEX(pausedOutputMutex_)
+   {
+      if (outputPaused_ || pausedOutput_.empty())
+         return;
+      output.swap(pausedOutput_);
+   }
+   END_LOCK_MUTEX
+
+   s_terminalSocket.sendText(procInfo_->getHandle(), output);
 }
 
 // websocket connection opened; called on different thread
@@ -795,10 +795,14 @@ Error procGetBufferChunk(const json::JsonRpcRequest& request,
 
    json::Object result;
    bool moreAvailable;
-   std::string chunkContent = proc->getSavedBufferChunk(requestedChunk, &moreAvailable);
+   int chunkCount;
+   std::string chunkContent = proc->getSavedBufferChunk(requestedChunk,
+                                                        &moreAvailable,
+                                                        &chunkCount);
 
    result["chunk"] = chunkContent;
    result["chunk_number"] = requestedChunk;
+   result["chunk_count"] = chunkCount;
    result["more_available"] = moreAvailable;
    pResponse->setResult(result);
 
@@ -120,7 +120,7 @@ void ConsoleProcessInfo::appendToOutputBuffer(char ch)
 }
 
 std::string ConsoleProcessInfo::getSavedBufferChunk(
-      int requestedChunk, bool* pMoreAvailable) const
+      int requestedChunk, bool* pMoreAvailable, int* pChunkCount) const
 {
    // We read the entire buffer into memory to return a given chunk. This is
    // ok for our current usage pattern, where the buffer-size is bounded
@@ -129,12 +129,18 @@ std::string ConsoleProcessInfo::getSavedBufferChunk(
    // more frequent and/or we support much larger buffers, we'd want to
    // reconsider this implementation.
 
-   // Read buffer (trims to maxOutputLines_ when chunk zero is requested)
-   std::string buffer = console_persist::getSavedBuffer(
-            handle_,
-            requestedChunk == 0 ? maxOutputLines_ : 0);
+   // Read buffer trimmed to maxOutputLines_; every chunk is taken from the
+   // same trimmed buffer so chunk boundaries line up, and the client can
+   // request chunks out of order.
+   std::string buffer = console_persist::getSavedBuffer(handle_, maxOutputLines_);
 
    *pMoreAvailable = false;
+   if (pChunkCount)
+   {
+      *pChunkCount = buffer.empty()
+            ? 1
+            : static_cast<int>((buffer.length() + kOutputBufferSize - 1) / kOutputBufferSize);
+   }
 
    // Common case, entire buffer fits in chunk zero
    if (requestedChunk == 0 && (buffer.length() <= kOutputBufferSize))
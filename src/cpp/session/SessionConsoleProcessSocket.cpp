@@ -329,6 +329,14 @@ void ConsoleProcessSocket::onMessage(terminalServer* s,
    {
       sendPong(handle);
    }
+   else if (ConsoleProcessSocketPacket::isFlowControl(payload))
+   {
+      if (details.connectionCallbacks_.onFlowControl)
+      {
+         details.connectionCallbacks_.onFlowControl(
+                  ConsoleProcessSocketPacket::isFlowControlPause(payload));
+      }
+   }
    else if (details.connectionCallbacks_.onReceivedInput)
    {
       details.connectionCallbacks_.onReceivedInput(ConsoleProcessSocketPacket::getMessage(payload));
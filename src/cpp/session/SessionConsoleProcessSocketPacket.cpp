@@ -21,6 +21,7 @@ namespace console_process {
 
 const std::string ConsoleProcessSocketPacket::kKeepAlivePrefix = "b";
 const std::string ConsoleProcessSocketPacket::kTextPrefix = "a";
+const std::string ConsoleProcessSocketPacket::kFlowControlPrefix = "c";
 
 /* static */
 std::string ConsoleProcessSocketPacket::textPacket(const std::string& text)
@@ -53,6 +54,18 @@ std::string ConsoleProcessSocketPacket::getMessage(const std::string& text)
    }
 }
 
+/* static */
+bool ConsoleProcessSocketPacket::isFlowControl(const std::string& text)
+{
+   return !text.compare(0, kFlowControlPrefix.length(), kFlowControlPrefix);
+}
+
+/* static */
+bool ConsoleProcessSocketPacket::isFlowControlPause(const std::string& text)
+{
+   return isFlowControl(text) && text.substr(kFlowControlPrefix.length()) == "1";
+}
+
 } // namespace console_process
 } // namespace session
 } // namespace rstudio
@@ -14,6 +14,9 @@
  */
 
 #include <string>
+#include <vector>
+
+#include <boost/make_shared.hpp>
 
 #include "SessionRpc.hpp"
 #include "SessionHttpMethods.hpp"
@@ -103,6 +106,177 @@ void endHandleRpcRequestIndirect(
    module_context::enqueClientEvent(evt);
 }
 
+// rpc_batch: a set of json-rpc requests sent by the client in a single
+// http request; each is executed as if it had been sent alone and the
+// responses are returned together (in request order)
+const char * const kRpcBatch = "rpc_batch";
+
+struct RpcBatch
+{
+   RpcBatch(std::size_t count,
+            boost::shared_ptr<HttpConnection> ptrConnection,
+            boost::posix_time::ptime executeStartTime)
+      : responses(count),
+        remaining(count),
+        ptrConnection(ptrConnection),
+        executeStartTime(executeStartTime),
+        detectChanges(false)
+   {
+   }
+
+   std::vector<json::JsonRpcResponse> responses;
+   std::size_t remaining;
+   boost::shared_ptr<HttpConnection> ptrConnection;
+   boost::posix_time::ptime executeStartTime;
+   bool detectChanges;
+
+   // async (handle style) methods are started only once the batch response
+   // carrying their handles has been sent
+   std::vector<boost::function<void()> > asyncInvocations;
+};
+
+void endHandleRpcBatch(boost::shared_ptr<RpcBatch> pBatch)
+{
+   // allow modules to detect changes after rpc calls
+   if (pBatch->detectChanges)
+   {
+      module_context::events().onDetectChanges(
+            module_context::ChangeSourceRPC);
+   }
+
+   bool hasAfterResponse = false;
+   for (json::JsonRpcResponse& response : pBatch->responses)
+      hasAfterResponse = hasAfterResponse || response.hasAfterResponse();
+
+   bool eventsPending = hasAfterResponse ||
+         clientEventQueue().eventAddedSince(pBatch->executeStartTime);
+
+   json::Array results;
+   for (json::JsonRpcResponse& response : pBatch->responses)
+   {
+      if (!eventsPending)
+         response.setField(kEventsPending, "false");
+      results.push_back(response.getRawResponse());
+   }
+
+   json::JsonRpcResponse batchResponse;
+   batchResponse.setResult(results);
+   if (!eventsPending)
+      batchResponse.setField(kEventsPending, "false");
+   pBatch->ptrConnection->sendJsonRpcResponse(batchResponse);
+
+   // run after responses (then detect changes again)
+   if (hasAfterResponse)
+   {
+      for (json::JsonRpcResponse& response : pBatch->responses)
+         response.runAfterResponse();
+      if (pBatch->detectChanges)
+      {
+         module_context::events().onDetectChanges(
+               module_context::ChangeSourceRPC);
+      }
+   }
+
+   for (const boost::function<void()>& invocation : pBatch->asyncInvocations)
+      invocation();
+}
+
+void endHandleRpcBatchRequest(boost::shared_ptr<RpcBatch> pBatch,
+                              std::size_t index,
+                              const core::Error& executeError,
+                              json::JsonRpcResponse* pJsonRpcResponse)
+{
+   json::JsonRpcResponse& response = pBatch->responses[index];
+   if (executeError)
+   {
+      response.setError(executeError);
+   }
+   else
+   {
+      response = *pJsonRpcResponse;
+      if (!response.suppressDetectChanges())
+         pBatch->detectChanges = true;
+   }
+
+   if (--pBatch->remaining == 0)
+      endHandleRpcBatch(pBatch);
+}
+
+void handleRpcBatchRequest(const json::JsonRpcRequest& request,
+                           boost::shared_ptr<HttpConnection> ptrConnection,
+                           boost::posix_time::ptime executeStartTime)
+{
+   json::Array requests;
+   Error error = json::readParams(request.params, &requests);
+   if (error)
+   {
+      ptrConnection->sendJsonRpcError(error);
+      return;
+   }
+
+   boost::shared_ptr<RpcBatch> pBatch = boost::make_shared<RpcBatch>(
+            requests.getSize(), ptrConnection, executeStartTime);
+   if (requests.isEmpty())
+   {
+      endHandleRpcBatch(pBatch);
+      return;
+   }
+
+   for (std::size_t i = 0; i < requests.getSize(); i++)
+   {
+      // the batch has already been validated, so each request shares its
+      // client id and connection type
+      json::JsonRpcRequest batchRequest;
+      error = json::parseJsonRpcRequest(requests[i].write(), &batchRequest);
+      if (!error && batchRequest.method == kRpcBatch)
+         error = Error(json::errc::InvalidRequest, ERROR_LOCATION);
+      if (error)
+      {
+         endHandleRpcBatchRequest(pBatch, i, error, nullptr);
+         continue;
+      }
+      batchRequest.clientId = request.clientId;
+      batchRequest.clientVersion = request.clientVersion;
+      batchRequest.isBackgroundConnection = request.isBackgroundConnection;
+
+      auto it = s_pJsonRpcMethods->find(batchRequest.method);
+      if (it == s_pJsonRpcMethods->end())
+      {
+         Error executeError = Error(json::errc::MethodNotFound, ERROR_LOCATION);
+         executeError.addProperty("method", batchRequest.method);
+         LOG_ERROR(executeError);
+         endHandleRpcBatchRequest(pBatch, i, executeError, nullptr);
+         continue;
+      }
+
+      std::pair<bool, json::JsonRpcAsyncFunction> reg = it->second;
+      json::JsonRpcAsyncFunction handlerFunction = reg.second;
+      if (reg.first)
+      {
+         // direct return
+         handlerFunction(batchRequest,
+                         boost::bind(endHandleRpcBatchRequest, pBatch, i, _1, _2));
+      }
+      else
+      {
+         // indirect return (asyncHandle style)
+         std::string handle = core::system::generateUuid(true);
+         json::JsonRpcResponse response;
+         response.setAsyncHandle(handle);
+         response.setSuppressDetectChanges(true);
+         pBatch->asyncInvocations.push_back(
+                  boost::bind(handlerFunction,
+                              batchRequest,
+                              json::JsonRpcFunctionContinuation(
+                                 boost::bind(endHandleRpcRequestIndirect,
+                                             handle,
+                                             _1,
+                                             _2))));
+         endHandleRpcBatchRequest(pBatch, i, Success(), &response);
+      }
+   }
+}
+
 void saveJsonResponse(const core::Error& error, core::json::JsonRpcResponse *pSrc,
                       core::Error *pError,      core::json::JsonRpcResponse *pDest)
 {
@@ -260,6 +434,12 @@ void handleRpcRequest(const core::json::JsonRpcRequest& request,
    // (so we can determine if any events were added during execution)
    using namespace boost::posix_time;
    ptime executeStartTime = microsec_clock::universal_time();
+
+   if (request.method == kRpcBatch)
+   {
+      handleRpcBatchRequest(request, ptrConnection, executeStartTime);
+      return;
+   }
    
    // execute the method
    auto it = s_pJsonRpcMethods->find(request.method);
@@ -189,7 +189,9 @@ public:
 
    // Get the given (0-based) chunk of the saved buffer; if more is available
    // after the requested chunk, *pMoreAvailable will be set to true
-   std::string getSavedBufferChunk(int chunk, bool* pMoreAvailable) const;
+   std::string getSavedBufferChunk(int chunk,
+                                   bool* pMoreAvailable,
+                                   int* pChunkCount = nullptr) const;
 
    // Get the full terminal buffer
    std::string getBuffer() const;
@@ -225,6 +227,8 @@ private:
    ConsoleProcessSocketConnectionCallbacks createConsoleProcessSocketConnectionCallbacks();
    void onConnectionOpened();
    void onConnectionClosed();
+   void onFlowControl(bool pause);
+   void flushPausedOutput();
 
    void saveEnvironment(const std::string& env);
    static void loadEnvironment(const std::string& handle, core::system::Options* pEnv);
@@ -275,6 +279,11 @@ private:
    boost::weak_ptr<core::system::ProcessOperations> pOps_;
    boost::mutex procOpsMutex_;
 
+   // websocket output held back while the client has asked us to pause
+   bool outputPaused_ = false;
+   std::string pausedOutput_;
+   boost::mutex pausedOutputMutex_;
+
    // private command handler, used to capture environment variables during terminal idle time
    core::terminal::PrivateCommand envCaptureCmd_;
 };
@@ -134,7 +134,9 @@ public:
    void appendToOutputBuffer(const std::string &str);
    void appendToOutputBuffer(char ch);
    std::string bufferedOutput() const;
-   std::string getSavedBufferChunk(int chunk, bool* pMoreAvailable) const;
+   std::string getSavedBufferChunk(int chunk,
+                                   bool* pMoreAvailable,
+                                   int* pChunkCount = nullptr) const;
    std::string getFullSavedBuffer() const;
    int getBufferLineCount() const;
    void deleteLogFile(bool lastLineOnly = false) const;
@@ -29,8 +29,10 @@ namespace console_process {
  * First character is a method indicator, as follows:
  *    "a" = send text, e.g. "aHello"
  *    "b" = ping/pong, e.g. "b"
+ *    "c" = output flow control, "c1" to pause, "c0" to resume
  *
- * Only the "send text" method has a payload (everything after the "a").
+ * Only the "send text" and "flow control" methods have a payload (everything
+ * after the method indicator).
  *
  * See TerminalSocketPacket in Java code for client-side of this.
  */
@@ -49,9 +51,16 @@ public:
    // extract text from packet (empty string if unable to comply)
    static std::string getMessage(const std::string& text);
 
+   // is this packet a flow control packet?
+   static bool isFlowControl(const std::string& text);
+
+   // does flow control packet ask to pause output?
+   static bool isFlowControlPause(const std::string& text);
+
 private:
    static const std::string kKeepAlivePrefix;
    static const std::string kTextPrefix;
+   static const std::string kFlowControlPrefix;
 };
 
 } // namespace console_process
@@ -16,6 +16,8 @@
 #include "SessionWorkbench.hpp"
 
 #include <algorithm>
+#include <list>
+#include <map>
 
 #include <boost/function.hpp>
 #include <boost/format.hpp>
@@ -72,13 +74,110 @@ namespace {
 
 module_context::WaitForMethodFunction s_waitForEditorContext;
 
+// the contents of the documents most recently sent with an editor context,
+// by document id; the client is told which revisions we hold so that it
+// can send just the changes made since (or nothing, if there are none)
+struct EditorContents
+{
+   std::string revision;
+   std::vector<std::string> lines;
+};
+
+const std::size_t kMaxEditorContents = 10;
+std::map<std::string, EditorContents> s_editorContents;
+std::list<std::string> s_editorContentsOrder; // most recently used first
+
+void cacheEditorContents(const std::string& id,
+                         const std::string& revision,
+                         const std::vector<std::string>& lines)
+{
+   s_editorContentsOrder.remove(id);
+   s_editorContentsOrder.push_front(id);
+   
+   EditorContents& contents = s_editorContents[id];
+   contents.revision = revision;
+   contents.lines = lines;
+   
+   while (s_editorContentsOrder.size() > kMaxEditorContents)
+   {
+      s_editorContents.erase(s_editorContentsOrder.back());
+      s_editorContentsOrder.pop_back();
+   }
+}
+
+Error resolveEditorContents(const std::string& id,
+                            const std::string& contents,
+                            const boost::optional<std::string>& baseRevision,
+                            const boost::optional<json::Object>& delta,
+                            std::vector<std::string>* pLines)
+{
+   // the full contents were sent
+   if (!baseRevision)
+   {
+      *pLines = core::algorithm::split(contents, "\n");
+      return Success();
+   }
+   
+   auto it = s_editorContents.find(id);
+   if (it == s_editorContents.end() || it->second.revision != *baseRevision)
+   {
+      Error error = systemError(boost::system::errc::invalid_argument,
+                                ERROR_LOCATION);
+      error.addProperty("id", id);
+      error.addProperty("revision", *baseRevision);
+      return error;
+   }
+   
+   // the contents are unchanged
+   const std::vector<std::string>& baseLines = it->second.lines;
+   if (!delta)
+   {
+      *pLines = baseLines;
+      return Success();
+   }
+   
+   // the delta replaces lines [start, end) of the base contents
+   int start, end;
+   json::Array linesJson;
+   Error error = json::readObject(*delta,
+                                  "start", start,
+                                  "end", end,
+                                  "lines", linesJson);
+   if (error)
+      return error;
+   
+   std::vector<std::string> lines;
+   if (start < 0 || end < start ||
+       static_cast<std::size_t>(end) > baseLines.size() ||
+       !linesJson.toVectorString(lines))
+   {
+      return systemError(boost::system::errc::invalid_argument,
+                         ERROR_LOCATION);
+   }
+   
+   pLines->clear();
+   pLines->reserve(baseLines.size() - (end - start) + lines.size());
+   pLines->insert(pLines->end(), baseLines.begin(), baseLines.begin() + start);
+   pLines->insert(pLines->end(), lines.begin(), lines.end());
+   pLines->insert(pLines->end(), baseLines.begin() + end, baseLines.end());
+   return Success();
+}
+
 SEXP rs_getEditorContext(SEXP typeSEXP)
 {
    int type = r::sexp::asInteger(typeSEXP);
    
+   json::Object revisions;
+   for (const auto& entry : s_editorContents)
+      revisions[entry.first] = entry.second.revision;
+   
+   json::Object data;
+   data["type"] = type;
+   data["revisions"] = revisions;
+   
    json::Object eventData;
    eventData["type"] = "editor_context";
-   eventData["data"] = type;
+   eventData["data"] = data;
    
    // send the event
    ClientEvent editorContextEvent(client_events::kEditorCommand, eventData);
@@ -111,13 +210,40 @@ SEXP rs_getEditorContext(SEXP typeSEXP)
    if (id.empty())
       return R_NilValue;
    
+   // the contents may be given relative to a revision we already hold
+   boost::optional<std::string> revision;
+   boost::optional<std::string> baseRevision;
+   boost::optional<json::Object> delta;
+   error = json::readObject(request.params[0].getObject(),
+                            "revision", revision,
+                            "base_revision", baseRevision,
+                            "delta", delta);
+   if (error)
+   {
+      LOG_ERROR(error);
+      return R_NilValue;
+   }
+   
+   std::vector<std::string> lines;
+   error = resolveEditorContents(id, contents, baseRevision, delta, &lines);
+   if (error)
+   {
+      LOG_ERROR(error);
+      s_editorContents.erase(id);
+      s_editorContentsOrder.remove(id);
+      return R_NilValue;
+   }
+   
+   if (revision)
+      cacheEditorContents(id, *revision, lines);
+   
    using namespace r::sexp;
    Protect protect;
    ListBuilder builder(&protect);
    
    builder.add("id", id);
    builder.add("path", path);
-   builder.add("contents", core::algorithm::split(contents, "\n"));
+   builder.add("contents", lines);
    
    // add in the selection ranges
    ListBuilder selectionBuilder(&protect);
@@ -29,6 +29,7 @@
 #include <shared_core/SafeConvert.hpp>
 #include <core/StringUtils.hpp>
 #include <shared_core/json/Json.hpp>
+#include <core/json/JsonRpc.hpp>
 #include <core/text/CsvParser.hpp>
 
 #include <r/RSexp.hpp>
@@ -327,6 +328,96 @@ Error handleChunkOutputRequest(const http::Request& request,
    return Success();
 }
 
+// called by the client to page in console output it has rendered only in
+// part; returns the pieces of the chunk's console output (all of its text
+// outputs, in order) which fall within the requested lines
+Error getChunkConsoleOutput(const json::JsonRpcRequest& request,
+                            json::JsonRpcResponse* pResponse)
+{
+   std::string docId, chunkId;
+   int startLine = 0, lineCount = 0;
+   Error error = json::readParams(request.params, &docId, &chunkId,
+         &startLine, &lineCount);
+   if (error)
+      return error;
+
+   // the result is empty if there's no such output
+   json::Array result;
+   pResponse->setResult(result);
+
+   FilePath outputDir = chunkOutputPath(docId, chunkId, ContextSaved);
+   if (!outputDir.exists() || lineCount <= 0)
+      return Success();
+
+   std::vector<FilePath> outputPaths;
+   error = outputDir.getChildren(outputPaths);
+   if (error)
+      return error;
+
+   // arrange by filename (use FilePath's < operator)
+   std::sort(outputPaths.begin(), outputPaths.end());
+
+   int line = 0;
+   int endLine = startLine + lineCount;
+   for (const FilePath& outputPath : outputPaths)
+   {
+      if (line >= endLine)
+         break;
+      if (chunkOutputType(outputPath) != ChunkOutputText)
+         continue;
+
+      json::Array consoleOutput;
+      error = chunkConsoleContents(outputPath, &consoleOutput);
+      if (error)
+         return error;
+
+      for (const json::Value& value : consoleOutput)
+      {
+         if (line >= endLine)
+            break;
+
+         json::Array entry = value.getArray();
+         std::string text = entry[1].getString();
+
+         // find the part of this entry within the requested lines
+         bool started = line >= startLine;
+         std::size_t from = 0;
+         std::size_t to = text.size();
+         for (std::size_t i = 0; i < text.size(); ++i)
+         {
+            if (text[i] != '\n')
+               continue;
+
+            ++line;
+            if (started)
+            {
+               if (line == endLine)
+               {
+                  to = i + 1;
+                  break;
+               }
+            }
+            else if (line == startLine)
+            {
+               from = i + 1;
+               started = true;
+            }
+         }
+
+         if (!started || from >= to)
+            continue;
+
+         json::Array piece;
+         piece.push_back(entry[0]);
+         piece.push_back(text.substr(from, to - from));
+         result.push_back(piece);
+      }
+   }
+
+   pResponse->setResult(result);
+   return Success();
+}
+
 }
 
 void updateLastChunkOutput(const std::string& docId, 
@@ -610,7 +701,9 @@ Error initOutput()
    ExecBlock initBlock;
    initBlock.addFunctions()
       (bind(module_context::registerUriHandler, "/" kChunkOutputPath, 
-            handleChunkOutputRequest));
+            handleChunkOutputRequest))
+      (bind(module_context::registerRpcMethod, "get_chunk_console_output",
+            getChunkConsoleOutput));
    return initBlock.execute();
 }
 
@@ -31,7 +31,8 @@ namespace source_control {
 
 // The size threshold at which we warn the user that the thing they are
 // requesting might slow down the app and are they sure they want to proceed?
-const size_t WARN_SIZE = 200 * 1024;
+// (diff views render their rows incrementally, so this can be fairly large)
+const size_t WARN_SIZE = 1024 * 1024;
 
 class VCSStatus
 {
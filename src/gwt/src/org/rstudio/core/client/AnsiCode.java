@@ -234,6 +234,22 @@ public class AnsiCode
    public AnsiCode()
    {
    }
+
+   /**
+    * Copies the state left by the codes another instance has processed, so
+    * that text following them can be styled without processing them again.
+    * @param other the instance to copy
+    */
+   public AnsiCode(AnsiCode other)
+   {
+      currentColor_ = new Color(other.currentColor_.isExtended(),
+                                other.currentColor_.code());
+      currentBgColor_ = new Color(other.currentBgColor_.isExtended(),
+                                  other.currentBgColor_.code());
+      inverted_ = other.inverted_;
+      clazzes_.addAll(other.clazzes_);
+      blockClazzes_.addAll(other.blockClazzes_);
+   }
  
    /**
     * Map an ANSI escape sequence to the appropriate css styles; only handles
@@ -498,7 +514,10 @@ public class AnsiCode
       return Color.clazzForColorIndex(index,  true /*background*/);
    }
    
-   private AnsiClazzes getStyles()
+   /**
+    * @return the styles for text following the codes processed so far
+    */
+   public AnsiClazzes getStyles()
    {
       AnsiClazzes styles = new AnsiClazzes();
       
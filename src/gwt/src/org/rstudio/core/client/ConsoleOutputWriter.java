@@ -100,10 +100,9 @@ public class ConsoleOutputWriter
          virtualConsole_ = vcFactory_.create(trailing);
       }
 
-      int oldLineCount = DomUtils.countLines(virtualConsole_.getParent(), true);
+      int oldLineCount = virtualConsole_.getNewlineCount();
       virtualConsole_.submit(text, className, isError, ariaLiveAnnounce);
-      int newLineCount = DomUtils.countLines(virtualConsole_.getParent(), true);
-      lines_ += newLineCount - oldLineCount;
+      lines_ += virtualConsole_.getNewlineCount() - oldLineCount;
 
       return ignoreLineCount ? true : !trimExcess();
    }
@@ -120,6 +120,7 @@ public class VirtualConsole
       clearPartialAnsiCode();
       output_.setLength(0);
       cursor_ = 0;
+      newlines_ = 0;
       class_.clear();
       if (parent_ != null)
          parent_.setInnerHTML("");
@@ -192,6 +193,46 @@ public class VirtualConsole
    {
       return parent_;
    }
+
+   /**
+    * @return a copy of the ANSI (SGR) state left by the text submitted so
+    * far, or null if no ANSI codes have been processed
+    */
+   public AnsiCode getAnsiState()
+   {
+      return ansi_ == null ? null : new AnsiCode(ansi_);
+   }
+
+   /**
+    * Style subsequently submitted text as though it followed text which left
+    * the given ANSI state, e.g. output rendered by another console
+    * @param state ANSI state to continue from; null for the default state
+    */
+   public void setAnsiState(AnsiCode state)
+   {
+      ansi_ = state == null ? null : new AnsiCode(state);
+      ansiCodeStyles_ = ansi_ == null ? new AnsiCode.AnsiClazzes() : ansi_.getStyles();
+   }
+
+   /**
+    * @return number of newlines currently in the console output; maintained
+    * incrementally so callers don't need to walk the DOM to count lines
+    */
+   public int getNewlineCount()
+   {
+      return newlines_;
+   }
+
+   private static int countNewlines(CharSequence text, int start, int end)
+   {
+      int count = 0;
+      for (int i = start; i < end; i++)
+      {
+         if (text.charAt(i) == '\n')
+            count++;
+      }
+      return count;
+   }
    
    /**
     * Appends text to the end of the virtual console.
@@ -407,6 +448,10 @@ public class VirtualConsole
             insertText(new ClassRange(start, clazz, text));
       }
 
+      // keep newline count in sync with the text being replaced
+      newlines_ -= countNewlines(output_, start, Math.min(end, output_.length()));
+      newlines_ += countNewlines(text, 0, text.length());
+
       output_.replace(start, end, text);
       cursor_ += text.length();
    }
@@ -695,6 +740,7 @@ public class VirtualConsole
    private final Element parent_;
    
    private int cursor_ = 0;
+   private int newlines_ = 0;
    private AnsiCode ansi_;
    private String partialAnsiCode_;
    private AnsiCode.AnsiClazzes ansiCodeStyles_ = new AnsiCode.AnsiClazzes();
@@ -35,7 +35,7 @@ public class RequestLogEntry
    {
       requestTime_ = requestTime;
       requestId_ = requestId;
-      requestData_ = requestData;
+      requestData_ = truncate(requestData);
    }
 
    public long getRequestTime()
@@ -67,7 +67,7 @@ public class RequestLogEntry
    {
       responseType_ = responseType;
       responseTime_ = System.currentTimeMillis();
-      responseData_ = data;
+      responseData_ = truncate(data);
    }
 
    public int getResponseType()
@@ -140,10 +140,22 @@ public class RequestLogEntry
       return entry;
    }
 
+   // the log holds on to its entries, so keep only the start of large
+   // payloads (e.g. data previews) unless tracing
+   private static String truncate(String data)
+   {
+      if (RpcRequest.TRACE || data == null || data.length() <= MAX_DATA_LENGTH)
+         return data;
+      return data.substring(0, MAX_DATA_LENGTH) + "... [" +
+             (data.length() - MAX_DATA_LENGTH) + " more characters]";
+   }
+
    private final long requestTime_;
    private final String requestId_;
    private final String requestData_;
    private Long responseTime_;
    private String responseData_;
    private int responseType_ = ResponseType.None;
+
+   private static final int MAX_DATA_LENGTH = 4096;
 }
@@ -0,0 +1,238 @@
+/*
+ * RpcMetrics.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.core.client.jsonrpc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.json.client.JSONNumber;
+import com.google.gwt.json.client.JSONObject;
+
+/**
+ * Aggregate statistics for the RPC requests sent by this window, by method:
+ * call and error counts, a latency histogram, and request/response sizes
+ * (in UTF-8 bytes).
+ * Unlike RequestLog, no request or response data is retained.
+ */
+public class RpcMetrics
+{
+   public static class MethodMetrics
+   {
+      private MethodMetrics(String method)
+      {
+         method_ = method;
+      }
+
+      private void record(long latencyMillis,
+                          int requestSize,
+                          int responseSize,
+                          boolean error)
+      {
+         count_++;
+         if (error)
+            errors_++;
+
+         latencyBuckets_[bucketFor(latencyMillis)]++;
+         totalLatency_ += latencyMillis;
+         maxLatency_ = Math.max(maxLatency_, latencyMillis);
+
+         totalRequestSize_ += requestSize;
+         totalResponseSize_ += responseSize;
+         maxResponseSize_ = Math.max(maxResponseSize_, responseSize);
+      }
+
+      public String getMethod()
+      {
+         return method_;
+      }
+
+      public int getCount()
+      {
+         return count_;
+      }
+
+      public int getErrors()
+      {
+         return errors_;
+      }
+
+      public double getErrorRate()
+      {
+         return count_ == 0 ? 0 : (double) errors_ / count_;
+      }
+
+      public long getTotalLatency()
+      {
+         return totalLatency_;
+      }
+
+      /**
+       * @param percentile The percentile, between 0 and 1
+       * @return An upper bound (within the histogram's resolution) on the
+       *    latency in milliseconds at the given percentile
+       */
+      public long getLatencyPercentile(double percentile)
+      {
+         int rank = (int) Math.ceil(percentile * count_);
+         int seen = 0;
+         for (int i = 0; i < latencyBuckets_.length; i++)
+         {
+            seen += latencyBuckets_[i];
+            if (seen >= rank && seen > 0)
+               return Math.min(bucketBound(i), maxLatency_);
+         }
+         return maxLatency_;
+      }
+
+      public JSONObject toJSON()
+      {
+         JSONObject json = new JSONObject();
+         json.put("count", new JSONNumber(count_));
+         json.put("errors", new JSONNumber(errors_));
+         json.put("error_rate", new JSONNumber(getErrorRate()));
+         json.put("latency_mean_ms", new JSONNumber(
+               count_ == 0 ? 0 : (double) totalLatency_ / count_));
+         json.put("latency_p50_ms", new JSONNumber(getLatencyPercentile(0.5)));
+         json.put("latency_p95_ms", new JSONNumber(getLatencyPercentile(0.95)));
+         json.put("latency_p99_ms", new JSONNumber(getLatencyPercentile(0.99)));
+         json.put("latency_max_ms", new JSONNumber(maxLatency_));
+         json.put("request_bytes_total", new JSONNumber(totalRequestSize_));
+         json.put("response_bytes_total", new JSONNumber(totalResponseSize_));
+         json.put("response_bytes_max", new JSONNumber(maxResponseSize_));
+         return json;
+      }
+
+      private final String method_;
+      private final int[] latencyBuckets_ = new int[BUCKET_COUNT];
+      private int count_;
+      private int errors_;
+      private long totalLatency_;
+      private long maxLatency_;
+      private double totalRequestSize_;
+      private double totalResponseSize_;
+      private int maxResponseSize_;
+   }
+
+   public static void record(String method,
+                             long latencyMillis,
+                             int requestSize,
+                             int responseSize,
+                             boolean error)
+   {
+      MethodMetrics metrics = metrics_.get(method);
+      if (metrics == null)
+      {
+         metrics = new MethodMetrics(method);
+         metrics_.put(method, metrics);
+      }
+      metrics.record(Math.max(0, latencyMillis), requestSize, responseSize, error);
+   }
+
+   /**
+    * @return The size of the given text in bytes when encoded as UTF-8 (as
+    *    it is on the wire)
+    */
+   public static int utf8Length(String text)
+   {
+      if (text == null)
+         return 0;
+
+      int length = 0;
+      for (int i = 0; i < text.length(); i++)
+      {
+         char c = text.charAt(i);
+         if (c < 0x80)
+            length += 1;
+         else if (c < 0x800)
+            length += 2;
+         else if (Character.isHighSurrogate(c) && i + 1 < text.length() &&
+                  Character.isLowSurrogate(text.charAt(i + 1)))
+         {
+            // a surrogate pair encodes a single four byte character
+            length += 4;
+            i++;
+         }
+         else
+            length += 3;
+      }
+      return length;
+   }
+
+   /**
+    * @return The size in bytes of the given value serialized as JSON
+    */
+   public static int jsonLength(JavaScriptObject value)
+   {
+      return utf8Length(toJsonString(value));
+   }
+
+   /**
+    * @return The metrics for each method, ordered by total time spent
+    *    waiting on the method (most first)
+    */
+   public static ArrayList<MethodMetrics> getMetrics()
+   {
+      ArrayList<MethodMetrics> metrics = new ArrayList<>(metrics_.values());
+      Collections.sort(metrics, (a, b) ->
+            Long.compare(b.getTotalLatency(), a.getTotalLatency()));
+      return metrics;
+   }
+
+   public static void reset()
+   {
+      metrics_.clear();
+   }
+
+   public static String toJSON()
+   {
+      JSONObject json = new JSONObject();
+      for (MethodMetrics metrics : getMetrics())
+         json.put(metrics.getMethod(), metrics.toJSON());
+      return stringify(json.getJavaScriptObject());
+   }
+
+   private static native String stringify(JavaScriptObject object) /*-{
+      return JSON.stringify(object, null, 2);
+   }-*/;
+
+   private static native String toJsonString(JavaScriptObject object) /*-{
+      return object == null ? null : JSON.stringify(object);
+   }-*/;
+
+   // latency buckets grow geometrically, so percentiles are accurate to
+   // within BUCKET_GROWTH of the true value
+   private static int bucketFor(long latencyMillis)
+   {
+      if (latencyMillis <= 1)
+         return 0;
+      int bucket = (int) Math.ceil(Math.log(latencyMillis) / LOG_BUCKET_GROWTH);
+      return Math.min(bucket, BUCKET_COUNT - 1);
+   }
+
+   private static long bucketBound(int bucket)
+   {
+      return (long) Math.ceil(Math.pow(BUCKET_GROWTH, bucket));
+   }
+
+   private static final HashMap<String, MethodMetrics> metrics_ = new HashMap<>();
+
+   private static final double BUCKET_GROWTH = 1.25;
+   private static final double LOG_BUCKET_GROWTH = Math.log(BUCKET_GROWTH);
+
+   // 1.25^60 ms is roughly 11 minutes
+   private static final int BUCKET_COUNT = 61;
+}
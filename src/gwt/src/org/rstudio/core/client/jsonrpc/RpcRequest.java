@@ -20,6 +20,9 @@ import com.google.gwt.json.client.JSONArray;
 import com.google.gwt.json.client.JSONObject;
 import com.google.gwt.json.client.JSONString;
 import com.google.gwt.user.client.Random;
+
+import java.util.List;
+
 import org.rstudio.core.client.Debug;
 import org.rstudio.core.client.jsonrpc.RequestLogEntry.ResponseType;
 import org.rstudio.studio.client.application.ApplicationCsrfToken;
@@ -69,23 +72,7 @@ public class RpcRequest
       final RpcRequestCallback requestCallback = callback;
       
       // build json request object
-      JSONObject request = new JSONObject();
-      request.put("method", new JSONString(method_));
-      if ( params_ != null )
-         request.put("params", params_);  
-      if ( kwparams_ != null)
-         request.put("kwparams", kwparams_);
-      
-      // add src window if we have it
-      if (sourceWindow_ != null)
-         request.put("sourceWnd", sourceWindow_);
-      
-      // add client id if we have it
-      if (clientId_ != null)
-         request.put("clientId", clientId_);
-
-      // add client version
-      request.put("clientVersion", clientVersion_);
+      JSONObject request = toJSONObject();
       
       // configure request builder
       RequestBuilder builder = new RequestBuilder(RequestBuilder.POST, url_);
@@ -111,6 +98,9 @@ public class RpcRequest
          if (TRACE)
             Debug.log("Request: " + requestString);
 
+         final long sendTime = System.currentTimeMillis();
+         final int requestSize = RpcMetrics.utf8Length(requestString);
+
          requestLogEntry_ = RequestLog.log(requestId,
                                            redactLog_ ? "[REDACTED]"
                                                       : requestString);
@@ -121,6 +111,11 @@ public class RpcRequest
             {      
                requestLogEntry_.logResponse(ResponseType.Error,
                                            exception.getLocalizedMessage());
+               RpcMetrics.record(method_,
+                                 System.currentTimeMillis() - sendTime,
+                                 requestSize,
+                                 0,
+                                 true);
                // ERROR: Request failed
                RpcError error = RpcError.create(
                                           RpcError.TRANSMISSION_ERROR,
@@ -133,18 +128,19 @@ public class RpcRequest
             {
                // only accept 200 responses
                int status = response.getStatusCode();
+               String responseText = response.getText();
                if ( status == 200 )
                {
                   // attempt to parse the response
                   RpcResponse rpcResponse = null;
                   try
                   {
-                     String responseText = response.getText();
                      if (TRACE)
                         Debug.log("Response: " + responseText);
                      requestLogEntry_.logResponse(ResponseType.Normal,
                                                  responseText);
                      rpcResponse = RpcResponse.parse(responseText);
+                     recordMetrics(responseText, rpcResponse.getError() != null);
                      
                      // response received and validated, process it!
                      requestCallback.onResponseReceived(enclosingRequest, 
@@ -152,6 +148,9 @@ public class RpcRequest
                   }
                   catch(Exception e)
                   {
+                     if (rpcResponse == null)
+                        recordMetrics(responseText, true);
+
                      // ERROR: Unable to parse JSON
                      RpcError error = RpcError.create(
                                                 RpcError.TRANSMISSION_ERROR,
@@ -177,12 +176,22 @@ public class RpcRequest
                  
                   requestLogEntry_.logResponse(ResponseType.Unknown,
                                               message);
+                  recordMetrics(responseText, true);
                   RpcError error = RpcError.create(
                                              RpcError.TRANSMISSION_ERROR,
                                              message);
                   requestCallback.onError(enclosingRequest, error);
                }
             }
+
+            private void recordMetrics(String responseText, boolean error)
+            {
+               RpcMetrics.record(method_,
+                                 System.currentTimeMillis() - sendTime,
+                                 requestSize,
+                                 RpcMetrics.utf8Length(responseText),
+                                 error);
+            }
          });
       }
       catch(RequestException e)
@@ -200,6 +209,60 @@ public class RpcRequest
       }
    }
    
+   /**
+    * @return The json-rpc request object sent to the server for this request
+    */
+   public JSONObject toJSONObject()
+   {
+      JSONObject request = new JSONObject();
+      request.put("method", new JSONString(method_));
+      if ( params_ != null )
+         request.put("params", params_);  
+      if ( kwparams_ != null)
+         request.put("kwparams", kwparams_);
+      
+      // add src window if we have it
+      if (sourceWindow_ != null)
+         request.put("sourceWnd", sourceWindow_);
+      
+      // add client id if we have it
+      if (clientId_ != null)
+         request.put("clientId", clientId_);
+
+      // add client version
+      request.put("clientVersion", clientVersion_);
+      
+      return request;
+   }
+
+   /**
+    * Create a request which carries the given requests to the server in a
+    * single call to the batch method. The requests must share a scope (i.e.
+    * differ only in the method at the end of their url).
+    */
+   static RpcRequest createBatch(String batchMethod, List<RpcRequest> requests)
+   {
+      JSONArray batch = new JSONArray();
+      for (int i = 0; i < requests.size(); i++)
+         batch.set(i, requests.get(i).toJSONObject());
+      JSONArray params = new JSONArray();
+      params.set(0, batch);
+
+      RpcRequest first = requests.get(0);
+      String url = first.url_.substring(0, first.url_.lastIndexOf('/') + 1) +
+                   batchMethod;
+      return new RpcRequest(url,
+                            batchMethod,
+                            params,
+                            null,
+                            false,
+                            null,
+                            null,
+                            first.clientId_ == null ? null : first.clientId_.stringValue(),
+                            first.clientVersion_.stringValue(),
+                            true);
+   }
+
    public void cancel()
    {
       if (request_ != null)
@@ -0,0 +1,159 @@
+/*
+ * RpcRequestBatcher.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.core.client.jsonrpc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gwt.core.client.JsArray;
+import com.google.gwt.core.client.Scheduler;
+
+/**
+ * Gathers the RPC requests sent during one event loop turn and sends them to
+ * the server as a single batch request. The server executes each request as
+ * if it had been sent alone; each request's callback then receives its own
+ * response (or the error which prevented the batch from completing), so
+ * error handling and retries remain per request.
+ */
+public class RpcRequestBatcher
+{
+   public void send(RpcRequest request, RpcRequestCallback callback)
+   {
+      pending_.add(new PendingRequest(request, callback));
+      if (!flushScheduled_)
+      {
+         flushScheduled_ = true;
+         Scheduler.get().scheduleFinally(() -> flush());
+      }
+   }
+
+   private void flush()
+   {
+      flushScheduled_ = false;
+      ArrayList<PendingRequest> pending = pending_;
+      pending_ = new ArrayList<>();
+
+      for (int i = 0; i < pending.size(); i += MAX_BATCH_SIZE)
+         send(pending.subList(i, Math.min(i + MAX_BATCH_SIZE, pending.size())));
+   }
+
+   private void send(final List<PendingRequest> batch)
+   {
+      // nothing to gain from wrapping a single request
+      if (batch.size() == 1)
+      {
+         batch.get(0).request.send(batch.get(0).callback);
+         return;
+      }
+
+      List<RpcRequest> requests = new ArrayList<>();
+      for (PendingRequest pending : batch)
+         requests.add(pending.request);
+
+      final long sendTime = System.currentTimeMillis();
+      RpcRequest.createBatch(BATCH_METHOD, requests).send(new RpcRequestCallback()
+      {
+         @Override
+         public void onError(RpcRequest request, RpcError error)
+         {
+            for (PendingRequest pending : batch)
+            {
+               recordMetrics(pending, null, true);
+               pending.callback.onError(pending.request, error);
+            }
+         }
+
+         @Override
+         public void onResponseReceived(RpcRequest request, RpcResponse response)
+         {
+            // an error for the batch as a whole applies to each request
+            if (response.getError() != null)
+            {
+               for (PendingRequest pending : batch)
+               {
+                  recordMetrics(pending, null, true);
+                  pending.callback.onResponseReceived(pending.request, response);
+               }
+               return;
+            }
+
+            JsArray<RpcResponse> responses = response.getResult();
+            if (responses == null || responses.length() != batch.size())
+            {
+               onError(request, RpcError.create(
+                     RpcError.TRANSMISSION_ERROR,
+                     "Unexpected response to batched request"));
+               return;
+            }
+
+            // deliver every response before propagating an exception from
+            // any one callback
+            RuntimeException exception = null;
+            for (int i = 0; i < batch.size(); i++)
+            {
+               PendingRequest pending = batch.get(i);
+               recordMetrics(pending, responses.get(i),
+                             responses.get(i).getError() != null);
+               try
+               {
+                  pending.callback.onResponseReceived(pending.request,
+                                                      responses.get(i));
+               }
+               catch (RuntimeException e)
+               {
+                  if (exception == null)
+                     exception = e;
+               }
+            }
+
+            if (exception != null)
+               throw exception;
+         }
+
+         // the batch itself is recorded under BATCH_METHOD; each request it
+         // carries is also recorded under its own method, so the metrics
+         // show which methods were called no matter how they were sent
+         private void recordMetrics(PendingRequest pending,
+                                    RpcResponse response,
+                                    boolean error)
+         {
+            RpcMetrics.record(
+                  pending.request.getMethod(),
+                  System.currentTimeMillis() - sendTime,
+                  RpcMetrics.utf8Length(pending.request.toJSONObject().toString()),
+                  response == null ? 0 : RpcMetrics.jsonLength(response),
+                  error);
+         }
+      });
+   }
+
+   private static class PendingRequest
+   {
+      public PendingRequest(RpcRequest request, RpcRequestCallback callback)
+      {
+         this.request = request;
+         this.callback = callback;
+      }
+
+      public final RpcRequest request;
+      public final RpcRequestCallback callback;
+   }
+
+   private ArrayList<PendingRequest> pending_ = new ArrayList<>();
+   private boolean flushScheduled_ = false;
+
+   public static final String BATCH_METHOD = "rpc_batch";
+   private static final int MAX_BATCH_SIZE = 20;
+}
@@ -45,6 +45,22 @@ public class SubstringDiff
       }
    }
    
+   /**
+    * Creates a diff for a replaced span that is already known, such as one
+    * accumulated from editor change events. The span [start, end) is given
+    * in character offsets into origVal; only the prefix and the span itself
+    * are scanned to compute the UTF-8 offsets expected by the server.
+    */
+   public SubstringDiff(String origVal, int start, int end, String replacement)
+   {
+      origVal_ = origVal;
+      newVal_ = null;
+      replacement_ = replacement;
+      offset_ = utf8Length(origVal, 0, start);
+      length_ = utf8Length(origVal, start, end);
+      valid_ = true;
+   }
+
    public TextChange[] asTextChanges() 
    {
       ArrayList<TextChange> changes = new ArrayList<TextChange>();
@@ -149,6 +165,29 @@ public class SubstringDiff
    
    }-*/;
 
+   private static int utf8Length(String value, int start, int end)
+   {
+      int length = 0;
+      for (int i = start; i < end; i++)
+      {
+         char ch = value.charAt(i);
+         if (ch < 0x80)
+            length += 1;
+         else if (ch < 0x800)
+            length += 2;
+         else if (Character.isHighSurrogate(ch) && i + 1 < end &&
+                  Character.isLowSurrogate(value.charAt(i + 1)))
+         {
+            // surrogate pair encodes a single 4-byte code point
+            length += 4;
+            i++;
+         }
+         else
+            length += 3;
+      }
+      return length;
+   }
+
    public String getReplacement()
    {
       return replacement_;
@@ -171,8 +171,7 @@ public class MultiSelectCellTable<T> extends CellTable<T>
                   event.preventDefault();
                   event.stopPropagation();
 
-                  for (T item : getVisibleItems())
-                     getSelectionModel().setSelected(item, true);
+                  selectAll();
                }
             }
             break;
@@ -288,6 +287,7 @@ public class MultiSelectCellTable<T> extends CellTable<T>
       }
       else
       {
+         ensureRowRendered(max + 1);
          int row = Math.min(getVisibleItemCount()-1, max + 1);
          if (!canSelectVisibleRow(row))
             row = max;
@@ -316,6 +316,20 @@ public class MultiSelectCellTable<T> extends CellTable<T>
       return true;
    }
 
+   // select every item; tables which render only some of their rows should
+   // override this to include the rest
+   protected void selectAll()
+   {
+      for (T item : getVisibleItems())
+         getSelectionModel().setSelected(item, true);
+   }
+
+   // called before the selection moves down to the given row, so tables
+   // which render rows incrementally can render it first
+   protected void ensureRowRendered(int row)
+   {
+   }
+
    @Override
    public HandlerRegistration addClickHandler(ClickHandler handler)
    {
@@ -27,6 +27,7 @@ import com.google.gwt.user.cellview.client.DefaultCellTableBuilder;
 import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.ui.HeaderPanel;
 import com.google.gwt.user.client.ui.ScrollPanel;
+import com.google.gwt.view.client.ProvidesKey;
 
 // This class acts as a DOM-virtualized version of a DataGrid, effectively
 // allowing the class to render large tables without overloading the DOM.
@@ -97,6 +98,12 @@ public abstract class VirtualizedDataGrid<T> extends RStudioDataGrid<T>
       commonInit();
    }
    
+   public VirtualizedDataGrid(Resources resources, ProvidesKey<T> keyProvider)
+   {
+      super(Integer.MAX_VALUE, resources, keyProvider);
+      commonInit();
+   }
+   
    private void commonInit()
    {
       addScrollHandler(new ScrollHandler()
@@ -39,6 +39,7 @@ import org.rstudio.core.client.command.KeyboardShortcut;
 import org.rstudio.core.client.jsonrpc.RequestLog;
 import org.rstudio.core.client.jsonrpc.RequestLogEntry;
 import org.rstudio.core.client.jsonrpc.RequestLogEntry.ResponseType;
+import org.rstudio.core.client.jsonrpc.RpcMetrics;
 import org.rstudio.core.client.widget.ModalDialog;
 import org.rstudio.core.client.widget.OperationWithInput;
 import org.rstudio.core.client.widget.ScrollPanelWithClick;
@@ -115,6 +116,7 @@ public class RequestLogVisualization extends Composite
                             "<li>P: Play/pause</li>" +
                             "<li>E: Export</li>" +
                             "<li>I: Import</li>" +
+                            "<li>M: Per-method metrics (JSON)</li>" +
                             "<li>+/-: Zoom in/out</li>" +
                             "</ul>");
       detail_.setWidget(instructions_);
@@ -296,6 +298,13 @@ public class RequestLogVisualization extends Composite
                                                      null);
             dialog.showModal();
          }
+         else if (keyCode == 'M')
+         {
+            TextBoxDialog dialog = new TextBoxDialog("RPC Metrics",
+                                                     RpcMetrics.toJSON(),
+                                                     null);
+            dialog.showModal();
+         }
          else if (keyCode == 'I')
          {
             TextBoxDialog dialog = new TextBoxDialog(
@@ -16,16 +16,30 @@
 
 package org.rstudio.studio.client.common.compile;
 
+import java.util.ArrayDeque;
+
 import org.rstudio.core.client.VirtualConsole;
 import org.rstudio.core.client.widget.BottomScrollPanel;
 import org.rstudio.core.client.widget.FontSizer;
+import org.rstudio.core.client.widget.HyperlinkLabel;
 import org.rstudio.core.client.widget.PreWidget;
 import org.rstudio.studio.client.RStudioGinjector;
 import org.rstudio.studio.client.workbench.views.console.ConsoleResources;
 import org.rstudio.studio.client.workbench.views.source.editors.text.themes.AceTheme;
 
+import com.google.gwt.dom.client.Document;
+import com.google.gwt.dom.client.SpanElement;
+import com.google.gwt.user.client.Command;
 import com.google.gwt.user.client.ui.Composite;
+import com.google.gwt.user.client.ui.FlowPanel;
+import com.google.gwt.user.client.ui.Label;
 
+/**
+ * Output display that keeps at most a fixed number of lines. Output is
+ * written into blocks of lines, each backed by its own virtual console;
+ * once the line cap is exceeded the oldest blocks are dropped whole, so
+ * trimming costs the same no matter how much output has been written.
+ */
 public class CompileOutputBufferWithHighlight extends Composite 
                                 implements CompileOutputDisplay
 {
@@ -37,17 +51,58 @@ public class CompileOutputBufferWithHighlight extends Composite
       output_.setStylePrimaryName(styles_.output());
       output_.addStyleName(styles_.paddedOutput());
       FontSizer.applyNormalFontSize(output_);
-      console_ = RStudioGinjector.INSTANCE.getVirtualConsoleFactory().create(output_.getElement());
+
+      trimmedLabel_ = new Label("Earlier output not shown.");
+      trimmedLabel_.setStylePrimaryName(styles_.truncatedLabel());
+      showAllLink_ = new HyperlinkLabel("Show all output", () ->
+      {
+         if (showAllHandler_ != null)
+            showAllHandler_.execute();
+      });
+      showAllLink_.setVisible(false);
+      trimmedPanel_ = new FlowPanel();
+      trimmedPanel_.add(trimmedLabel_);
+      trimmedPanel_.add(showAllLink_);
+      trimmedPanel_.setVisible(false);
+
+      FlowPanel content = new FlowPanel();
+      content.add(trimmedPanel_);
+      content.add(output_);
     
       scrollPanel_ = new BottomScrollPanel();
       scrollPanel_.setSize("100%", "100%");
       scrollPanel_.addStyleName("ace_editor");
       scrollPanel_.addStyleName("ace_scroller");
-      scrollPanel_.setWidget(output_);
+      scrollPanel_.setWidget(content);
       
       initWidget(scrollPanel_);
    }
-   
+
+   /**
+    * Set the maximum number of lines to keep; older output is dropped
+    * once this is exceeded.
+    * @param maxLines Maximum number of lines, or zero for no limit
+    */
+   public void setMaxOutputLines(int maxLines)
+   {
+      maxLines_ = maxLines;
+      trimExcess();
+   }
+
+   public int getMaxOutputLines()
+   {
+      return maxLines_;
+   }
+
+   /**
+    * Offer a "Show all output" link when older output has been dropped.
+    * @param handler Invoked when the link is clicked; null for no link
+    */
+   public void setShowAllHandler(Command handler)
+   {
+      showAllHandler_ = handler;
+      showAllLink_.setVisible(handler != null);
+   }
    
    @Override
    public void writeCommand(String command)
@@ -76,15 +131,52 @@ public class CompileOutputBufferWithHighlight extends Composite
    @Override
    public void clear()
    {
-      console_.clear();
+      blocks_.clear();
+      lines_ = 0;
+      atLineStart_ = true;
       output_.setText("");
+      trimmedPanel_.setVisible(false);
    }
    
    private void write(String output, String className)
    {
-      console_.submit(output, className);
+      Block block = blocks_.peekLast();
+
+      // only start a new block on a line boundary, as carriage returns and
+      // backspaces may still rewrite the current line
+      if (block == null || (atLineStart_ && block.lines >= BLOCK_LINES))
+      {
+         block = new Block(block);
+         output_.getElement().appendChild(block.element);
+         blocks_.addLast(block);
+      }
+
+      int oldLineCount = block.console.getNewlineCount();
+      block.console.submit(output, className);
+      int newLines = block.console.getNewlineCount() - oldLineCount;
+      block.lines += newLines;
+      lines_ += newLines;
+      if (output.length() > 0)
+         atLineStart_ = output.charAt(output.length() - 1) == '\n';
+
+      trimExcess();
       scrollPanel_.onContentSizeChanged();
    }
+
+   private void trimExcess()
+   {
+      if (maxLines_ <= 0)
+         return;
+
+      // never drop the block currently being written
+      while (blocks_.size() > 1 && lines_ - blocks_.peekFirst().lines >= maxLines_)
+      {
+         Block oldest = blocks_.pollFirst();
+         oldest.element.removeFromParent();
+         lines_ -= oldest.lines;
+         trimmedPanel_.setVisible(true);
+      }
+   }
    
    private String getErrorClass()
    {
@@ -92,9 +184,35 @@ public class CompileOutputBufferWithHighlight extends Composite
              AceTheme.getThemeErrorClass(
                 RStudioGinjector.INSTANCE.getUserState().theme().getValue().cast());
    }
+
+   private static class Block
+   {
+      // a block continues with the ANSI styles left by the one before it
+      Block(Block previous)
+      {
+         element = Document.get().createSpanElement();
+         console = RStudioGinjector.INSTANCE.getVirtualConsoleFactory().create(element);
+         if (previous != null)
+            console.setAnsiState(previous.console.getAnsiState());
+      }
+
+      final SpanElement element;
+      final VirtualConsole console;
+      int lines;
+   }
  
    PreWidget output_;
-   VirtualConsole console_;
+   private final ArrayDeque<Block> blocks_ = new ArrayDeque<>();
+   private int lines_ = 0;
+   private boolean atLineStart_ = true;
+   private int maxLines_ = DEFAULT_MAX_LINES;
+   private Command showAllHandler_;
+   private final FlowPanel trimmedPanel_;
+   private final Label trimmedLabel_;
+   private final HyperlinkLabel showAllLink_;
    private BottomScrollPanel scrollPanel_;
    private ConsoleResources.ConsoleStyles styles_;
+
+   public static final int DEFAULT_MAX_LINES = 10000;
+   private static final int BLOCK_LINES = 200;
 }
@@ -29,6 +29,7 @@ import org.rstudio.studio.client.workbench.model.SessionInfo;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 
 import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArrayString;
 import com.google.gwt.event.dom.client.FocusEvent;
 import com.google.gwt.event.dom.client.FocusHandler;
 import com.google.gwt.event.logical.shared.CloseEvent;
@@ -121,6 +122,21 @@ public class Satellite implements HasCloseHandlers<Satellite>
       $wnd.opener.flushPendingEvents(name);
    }-*/;
 
+   // restrict the client events the main window routes to this satellite
+   // to the given types (plus those every satellite needs)
+   public void setEventSubscriptions(String name, String[] types)
+   {
+      JsArrayString array = JavaScriptObject.createArray().cast();
+      for (String type : types)
+         array.push(type);
+      setEventSubscriptionsNative(name, array);
+   }
+
+   private native final void setEventSubscriptionsNative(String name,
+                                                         JsArrayString types) /*-{
+      $wnd.opener.setRStudioSatelliteEventTypes(name, types);
+   }-*/;
+
    // satellite windows should call this during startup to setup a 
    // communication channel with the main window
    private native void initializeNative(String name) /*-{
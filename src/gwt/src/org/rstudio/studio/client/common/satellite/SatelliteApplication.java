@@ -118,6 +118,16 @@ public class SatelliteApplication
       return false;
    }
    
+   /**
+    * Satellites which only handle a few kinds of client events can return
+    * their types here, so the main window doesn't forward (or buffer) the
+    * rest. Return null to receive every event.
+    */
+   protected String[] getEventSubscriptions()
+   {
+      return null;
+   }
+   
    public void go(RootLayoutPanel rootPanel, 
                   final Command dismissLoadingProgress)
    {
@@ -131,6 +141,10 @@ public class SatelliteApplication
                                }
                             });
 
+      String[] subscriptions = getEventSubscriptions();
+      if (subscriptions != null)
+         satellite_.setEventSubscriptions(name_, subscriptions);
+
       if (!manuallyFlushPendingEvents())
       {
          flushPendingEvents();
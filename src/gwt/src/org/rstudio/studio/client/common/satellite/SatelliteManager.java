@@ -14,8 +14,12 @@
  */
 package org.rstudio.studio.client.common.satellite;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map.Entry;
 
 import com.google.inject.Provider;
@@ -40,12 +44,14 @@ import org.rstudio.studio.client.common.satellite.events.AllSatellitesClosingEve
 import org.rstudio.studio.client.common.satellite.events.SatelliteClosedEvent;
 import org.rstudio.studio.client.common.satellite.events.WindowClosedEvent;
 import org.rstudio.studio.client.common.satellite.events.WindowOpenedEvent;
+import org.rstudio.studio.client.server.remote.ClientEvent;
 import org.rstudio.studio.client.workbench.model.Session;
 import org.rstudio.studio.client.workbench.model.SessionInfo;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 import org.rstudio.studio.client.workbench.views.source.SourceWindowManager;
 
 import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArrayString;
 import com.google.gwt.dom.client.Document;
 import com.google.gwt.event.logical.shared.CloseEvent;
 import com.google.gwt.event.logical.shared.CloseHandler;
@@ -186,8 +192,7 @@ public class SatelliteManager implements CloseHandler<Window>
       // anything while the satellite is being loaded/reactivated
       if (!pendingEventsBySatelliteName_.containsKey(name))
       {
-         pendingEventsBySatelliteName_.put(name,
-                                           new ArrayList<JavaScriptObject>());
+         pendingEventsBySatelliteName_.put(name, new PendingEvents());
       }
 
       // record satellite params for subsequent setting (this value is read
@@ -343,9 +348,11 @@ public class SatelliteManager implements CloseHandler<Window>
       }   
    }
    
-   // dispatch an event to all satellites
+   // dispatch an event to all satellites subscribed to its type
    public void dispatchClientEvent(JavaScriptObject clientEvent)
    {
+      String type = clientEvent.<ClientEvent>cast().getType();
+
       // list of windows to remove (because they were closed)
       ArrayList<ActiveSatellite> removeWindows = null;
         
@@ -370,7 +377,7 @@ public class SatelliteManager implements CloseHandler<Window>
                   removeWindows = new ArrayList<ActiveSatellite>();
                removeWindows.add(satellite);
             }
-            else
+            else if (isSubscribed(satellite.getName(), type))
             {
                callDispatchEvent(satelliteWnd, clientEvent);
             }
@@ -380,10 +387,11 @@ public class SatelliteManager implements CloseHandler<Window>
          }
       }
 
-      for (Entry<String, ArrayList<JavaScriptObject>> entry :
+      for (Entry<String, PendingEvents> entry :
                                        pendingEventsBySatelliteName_.entrySet())
       {
-         entry.getValue().add(clientEvent);
+         if (isSubscribed(entry.getKey(), type))
+            entry.getValue().add(clientEvent, type);
       }
       
       // remove windows if necessary
@@ -501,14 +509,39 @@ public class SatelliteManager implements CloseHandler<Window>
       }
    }
 
-   private void flushPendingEvents(String name)
+   // called by satellites to limit the client events routed to them; a
+   // satellite which never calls this receives every event
+   private void setSatelliteEventTypes(String name, JsArrayString types)
    {
-      ArrayList<JavaScriptObject> events =
-                                    pendingEventsBySatelliteName_.remove(name);
+      // copy the types out, since the array belongs to the satellite window
+      HashSet<String> subscribed = new HashSet<>();
+      for (int i = 0; i < types.length(); i++)
+         subscribed.add(types.get(i));
+      subscriptionsBySatelliteName_.put(name, subscribed);
+   }
 
-      if (events == null || events.size() == 0)
+   private boolean isSubscribed(String name, String type)
+   {
+      HashSet<String> subscribed = subscriptionsBySatelliteName_.get(name);
+      return subscribed == null ||
+             subscribed.contains(type) ||
+             ALWAYS_DISPATCHED.contains(type);
+   }
+
+   private void flushPendingEvents(String name)
+   {
+      PendingEvents pending = pendingEventsBySatelliteName_.remove(name);
+      if (pending == null || pending.isEmpty())
          return;
 
+      // events buffered before the satellite subscribed are filtered now
+      ArrayList<JavaScriptObject> events = new ArrayList<>();
+      for (JavaScriptObject evt : pending.events_)
+      {
+         if (isSubscribed(name, evt.<ClientEvent>cast().getType()))
+            events.add(evt);
+      }
+
       for (ActiveSatellite satellite :
                                     new ArrayList<ActiveSatellite>(satellites_))
       {
@@ -546,6 +579,11 @@ public class SatelliteManager implements CloseHandler<Window>
             manager.@org.rstudio.studio.client.common.satellite.SatelliteManager::flushPendingEvents(Ljava/lang/String;)(name);
          }
       );
+      $wnd.setRStudioSatelliteEventTypes = $entry(
+         function(name, types) {
+            manager.@org.rstudio.studio.client.common.satellite.SatelliteManager::setSatelliteEventTypes(Ljava/lang/String;Lcom/google/gwt/core/client/JsArrayString;)(name, types);
+         }
+      );
       $wnd.registerDesktopChildWindow = $entry(
          function(name, wnd) {
             manager.@org.rstudio.studio.client.common.satellite.SatelliteManager::registerDesktopChildWindow(Ljava/lang/String;Lcom/google/gwt/core/client/JavaScriptObject;)(name, wnd);
@@ -665,8 +703,44 @@ public class SatelliteManager implements CloseHandler<Window>
    private final HashMap<String,JavaScriptObject> satelliteParams_ = 
                                 new HashMap<String,JavaScriptObject>();
 
-   private final HashMap<String, ArrayList<JavaScriptObject>>
-         pendingEventsBySatelliteName_ = new HashMap<String, ArrayList<JavaScriptObject>>();
+   private final HashMap<String, PendingEvents>
+         pendingEventsBySatelliteName_ = new HashMap<String, PendingEvents>();
+
+   private final HashMap<String, HashSet<String>>
+         subscriptionsBySatelliteName_ = new HashMap<String, HashSet<String>>();
+
+   // Events buffered for a satellite which is loading (or being reopened).
+   // State events are coalesced so only the latest of each type is kept, and
+   // the buffer is bounded so a satellite which never finishes loading can't
+   // accumulate events without limit.
+   private static class PendingEvents
+   {
+      public void add(JavaScriptObject clientEvent, String type)
+      {
+         if (COALESCED.contains(type))
+         {
+            for (Iterator<JavaScriptObject> it = events_.iterator(); it.hasNext(); )
+            {
+               if (StringUtil.equals(it.next().<ClientEvent>cast().getType(), type))
+               {
+                  it.remove();
+                  break;
+               }
+            }
+         }
+
+         events_.add(clientEvent);
+         if (events_.size() > MAX_PENDING_EVENTS)
+            events_.removeFirst();
+      }
+
+      public boolean isEmpty()
+      {
+         return events_.isEmpty();
+      }
+
+      private final ArrayDeque<JavaScriptObject> events_ = new ArrayDeque<>();
+   }
 
    private class ActiveSatellite
    {
@@ -715,6 +789,32 @@ public class SatelliteManager implements CloseHandler<Window>
    }
  
    private final Provider<UserPrefs> pUIPrefs_;
+
+   // events every satellite needs, whatever it subscribes to
+   private static final HashSet<String> ALWAYS_DISPATCHED = new HashSet<>(Arrays.asList(
+         ClientEvent.Busy,
+         ClientEvent.Quit,
+         ClientEvent.Suicide,
+         ClientEvent.AbendWarning,
+         ClientEvent.SessionSerialization,
+         ClientEvent.SuspendAndRestart,
+         ClientEvent.DeferredInitCompleted,
+         ClientEvent.UserPrefsChanged,
+         ClientEvent.UserStateChanged,
+         ClientEvent.ComputeThemeColors,
+         ClientEvent.SessionLabelChanged));
+
+   // events carrying complete state, where only the latest matters
+   private static final HashSet<String> COALESCED = new HashSet<>(Arrays.asList(
+         ClientEvent.Busy,
+         ClientEvent.WorkingDirChanged,
+         ClientEvent.PlotsStateChanged,
+         ClientEvent.PackageStateChanged,
+         ClientEvent.QuotaStatus,
+         ClientEvent.SaveActionChanged,
+         ClientEvent.EnvironmentRefresh));
+
+   private static final int MAX_PENDING_EVENTS = 1000;
 }
 
 
@@ -51,6 +51,7 @@ import org.rstudio.studio.client.workbench.views.source.editors.text.ace.Range;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -84,7 +85,12 @@ public class TypoSpellChecker
                   typoLoaded_ = true;
                }
                else
+               {
+                  // custom dictionaries can accept words already judged
                   customTypoNative_.put(language_, typo);
+                  verdictCache_.clear();
+               }
+               dictionaryGeneration_++;
 
                aff.clear();
                dic.clear();
@@ -193,7 +199,11 @@ public class TypoSpellChecker
       contextDictionary_ = context_.readDictionary();
 
       // subscribe to spelling prefs changes (invalidateAll on changes)
-      ValueChangeHandler<Boolean> prefChangedHandler = (event) -> context_.invalidateAllWords();
+      ValueChangeHandler<Boolean> prefChangedHandler = (event) ->
+      {
+         ignoredGeneration_++;
+         context_.invalidateAllWords();
+      };
       ValueChangeHandler<Boolean> realtimeChangedHandler = (event) -> loadDictionary();
       ValueChangeHandler<String> dictChangedHandler = (event) -> loadDictionary();
       userPrefs_.ignoreUppercaseWords().addValueChangeHandler(prefChangedHandler);
@@ -252,10 +262,31 @@ public class TypoSpellChecker
    // word is deemed correct by the dictionary
    public boolean checkSpelling(String word)
    {
-      return domainSpecificWords_.contains(word.toLowerCase()) ||
-         allIgnoredWords_.contains(word) ||
-         typoNative_.check(word) ||
-         checkCustomDicts(word);
+      if (allIgnoredWords_.contains(word))
+         return true;
+
+      // the dictionaries' verdicts are cached since Typo's affix handling
+      // is expensive and the same words are checked on every lint pass
+      String key = loadedDict_ + ":" + word;
+      Boolean verdict = verdictCache_.get(key);
+      if (verdict == null)
+      {
+         verdict = domainSpecificWords_.contains(word.toLowerCase()) ||
+            typoNative_.check(word) ||
+            checkCustomDicts(word);
+         verdictCache_.put(key, verdict);
+      }
+      return verdict;
+   }
+
+   /**
+    * @return A value which changes whenever the result of checkSpelling or
+    *    shouldCheckSpelling may have changed for some word (dictionaries,
+    *    ignored words, or spelling preferences changed)
+    */
+   public int getGeneration()
+   {
+      return dictionaryGeneration_ + ignoredGeneration_;
    }
 
    // go through all of the custom dictionaries and check the word
@@ -384,6 +415,7 @@ public class TypoSpellChecker
       allIgnoredWords_.clear();
       allIgnoredWords_.addAll(userDictionaryWords_);
       allIgnoredWords_.addAll(contextDictionary_);
+      ignoredGeneration_++;
    }
 
    private void loadDictionary()
@@ -509,11 +541,25 @@ public class TypoSpellChecker
    private static TypoNative typoNative_;
    private static HashMap<String, TypoNative> customTypoNative_ = new HashMap<>();
    private static TypoDictionaryRequest activeRequest_;
+   private static int dictionaryGeneration_ = 0;
+
+   // bounded LRU cache of dictionary verdicts, keyed by dictionary and word
+   private static final LinkedHashMap<String, Boolean> verdictCache_ =
+         new LinkedHashMap<String, Boolean>(16, 0.75f, true)
+   {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest)
+      {
+         return size() > MAX_CACHED_VERDICTS;
+      }
+   };
+   private static final int MAX_CACHED_VERDICTS = 20000;
 
    private WorkbenchList userDictionary_;
    private ArrayList<String> userDictionaryWords_;
    private ArrayList<String> contextDictionary_;
    private final HashSet<String> allIgnoredWords_ = new HashSet<>();
+   private int ignoredGeneration_ = 0;
    private final HashSet<String> domainSpecificWords_ = new HashSet<>();
    private final ExternalJavaScriptLoader typoLoader_ =
          new ExternalJavaScriptLoader(TypoResources.INSTANCE.typojs().getSafeUri().asString());
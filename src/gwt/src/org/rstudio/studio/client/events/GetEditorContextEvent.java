@@ -16,6 +16,7 @@ package org.rstudio.studio.client.events;
 
 import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.core.client.JsArray;
+import com.google.gwt.core.client.JsArrayString;
 import com.google.gwt.event.shared.EventHandler;
 
 import org.rstudio.core.client.js.JavaScriptSerializable;
@@ -29,8 +30,71 @@ public class GetEditorContextEvent extends CrossWindowEvent<GetEditorContextEven
    {
       protected Data() {}
       
-      public static final native Data create() /*-{ return 0; }-*/;
-      public final native int getType() /*-{ return this; }-*/;
+      public static final native Data create() /*-{ return { "type": 0 }; }-*/;
+      
+      // older sessions send the type alone
+      public final native int getType()
+      /*-{
+         return typeof this === "number" ? this : this["type"];
+      }-*/;
+      
+      /**
+       * @return The revision of the document with the given id that the
+       *    session already holds the contents of, or null if none
+       */
+      public final native String getRevision(String id)
+      /*-{
+         var revisions = typeof this === "number" ? null : this["revisions"];
+         return revisions && revisions.hasOwnProperty(id) ? revisions[id] : null;
+      }-*/;
+   }
+   
+   public static class ContentsDelta extends JavaScriptObject
+   {
+      protected ContentsDelta() {}
+      
+      // replaces lines [start, end) of the base revision with the given lines
+      public static final native ContentsDelta create(int start,
+                                                      int end,
+                                                      JsArrayString lines)
+      /*-{
+         return {
+            "start": start,
+            "end": end,
+            "lines": lines
+         };
+      }-*/;
+      
+      /**
+       * @return The delta replacing the lines between the longest common
+       *    prefix and suffix of the two documents' lines
+       */
+      public static final native ContentsDelta compute(String base,
+                                                       String contents)
+      /*-{
+         var oldLines = base.split("\n");
+         var newLines = contents.split("\n");
+         
+         var start = 0;
+         var n = Math.min(oldLines.length, newLines.length);
+         while (start < n && oldLines[start] === newLines[start])
+            start++;
+         
+         var oldEnd = oldLines.length;
+         var newEnd = newLines.length;
+         while (oldEnd > start && newEnd > start &&
+                oldLines[oldEnd - 1] === newLines[newEnd - 1])
+         {
+            oldEnd--;
+            newEnd--;
+         }
+         
+         return {
+            "start": start,
+            "end": oldEnd,
+            "lines": newLines.slice(start, newEnd)
+         };
+      }-*/;
    }
    
    public static class DocumentSelection extends JavaScriptObject
@@ -73,6 +137,36 @@ public class GetEditorContextEvent extends CrossWindowEvent<GetEditorContextEven
          };
       }-*/;
       
+      /**
+       * Creates selection data whose contents are to be taken from those the
+       * session already holds: unchanged from the base revision if the delta
+       * is null, or with the delta applied otherwise.
+       */
+      public static final native SelectionData create(String id,
+                                                      String path,
+                                                      String revision,
+                                                      String baseRevision,
+                                                      ContentsDelta delta,
+                                                      JsArray<DocumentSelection> selection)
+      /*-{
+         var data = {
+            "id": id,
+            "path": path,
+            "contents": "",
+            "selection": selection,
+            "revision": revision,
+            "base_revision": baseRevision
+         };
+         if (delta)
+            data["delta"] = delta;
+         return data;
+      }-*/;
+      
+      public final native void setRevision(String revision)
+      /*-{
+         this["revision"] = revision;
+      }-*/;
+      
       public final native String getId() /*-{ return this["id"]; }-*/;
       public final native String getPath() /*-{ return this["path"]; }-*/;
       public final native String getContents() /*-{ return this["contents"]; }-*/;
@@ -18,6 +18,7 @@ import org.rstudio.studio.client.application.ApplicationUncaughtExceptionHandler
 import org.rstudio.studio.client.common.satellite.Satellite;
 import org.rstudio.studio.client.common.satellite.SatelliteApplication;
 import org.rstudio.studio.client.htmlpreview.ui.HTMLPreviewApplicationView;
+import org.rstudio.studio.client.server.remote.ClientEvent;
 import org.rstudio.studio.client.workbench.commands.Commands;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 import org.rstudio.studio.client.workbench.views.source.editors.text.themes.AceThemes;
@@ -41,4 +42,14 @@ public class HTMLPreviewApplication extends SatelliteApplication
    {
       super(NAME, view, satellite, pAceThemes, pUserPrefs, exHandler, commands);
    }
+
+   @Override
+   protected String[] getEventSubscriptions()
+   {
+      return new String[] {
+         ClientEvent.HTMLPreviewStartedEvent,
+         ClientEvent.HTMLPreviewOutputEvent,
+         ClientEvent.HTMLPreviewCompletedEvent
+      };
+   }
 }
@@ -41,4 +41,12 @@ public class RmdOutputSatellite extends SatelliteApplication
    {
       super(NAME, view, satellite, pAceThemes, pUserPrefs, exHandler, commands);
    }
+
+   @Override
+   protected String[] getEventSubscriptions()
+   {
+      // the main window drives this window directly, so it only needs the
+      // events every satellite receives
+      return new String[] {};
+   }
 }
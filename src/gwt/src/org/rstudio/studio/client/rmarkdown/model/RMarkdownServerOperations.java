@@ -15,6 +15,7 @@
 package org.rstudio.studio.client.rmarkdown.model;
 
 import org.rstudio.core.client.files.FileSystemItem;
+import org.rstudio.core.client.js.JsArrayEx;
 import org.rstudio.core.client.js.JsObject;
 import org.rstudio.studio.client.common.crypto.CryptoServerOperations;
 import org.rstudio.studio.client.server.ServerRequestCallback;
@@ -78,6 +79,10 @@ public interface RMarkdownServerOperations extends CryptoServerOperations
                            String requestId, String chunkId,
                            ServerRequestCallback<NotebookDocQueue> requestCallback);
    
+   void getChunkConsoleOutput(String docId, String chunkId,
+                              int startLine, int lineCount,
+                              ServerRequestCallback<JsArray<JsArrayEx>> requestCallback);
+   
    void setChunkConsole(String docId, String chunkId, int commitMode, 
                         int execMode, int execScope, String options, 
                         int pixelWidth, int characterWidth, 
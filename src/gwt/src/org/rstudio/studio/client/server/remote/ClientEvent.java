@@ -16,7 +16,7 @@ package org.rstudio.studio.client.server.remote;
 
 import com.google.gwt.core.client.JavaScriptObject;
 
-class ClientEvent extends JavaScriptObject
+public class ClientEvent extends JavaScriptObject
 {   
    public static final String Busy = "busy";
    public static final String ConsolePrompt = "console_prompt";
@@ -198,6 +198,12 @@ class ClientEvent extends JavaScriptObject
    protected ClientEvent()
    {
    }
+
+   public static final native ClientEvent create(int id,
+                                                 String type,
+                                                 JavaScriptObject data) /*-{
+      return { id: id, type: type, data: data };
+   }-*/;
    
    public final native int getId() /*-{
       return this.id;
@@ -21,6 +21,7 @@ import com.google.gwt.core.client.JsArray;
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.core.client.Scheduler.RepeatingCommand;
 
+import org.rstudio.core.client.StringUtil;
 import org.rstudio.core.client.events.ExecuteAppCommandEvent;
 import org.rstudio.core.client.events.HighlightEvent;
 import org.rstudio.core.client.files.FileSystemItem;
@@ -202,7 +203,8 @@ import org.rstudio.studio.client.workbench.views.vcs.common.events.VcsRefreshEve
 import org.rstudio.studio.client.workbench.views.vcs.common.events.VcsRefreshEvent.Reason;
 import org.rstudio.studio.client.workbench.views.viewer.events.ViewerNavigateEvent;
 
-import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Queue;
 
 public class ClientEventDispatcher 
 {
@@ -220,25 +222,191 @@ public class ClientEventDispatcher
    public void enqueEvent(ClientEvent event)
    {
       pendingEvents_.add(event);
-      if (pendingEvents_.size() == 1)
+      maxQueueDepth_ = Math.max(maxQueueDepth_, pendingEvents_.size());
+      if (!drainScheduled_)
       {
+         drainScheduled_ = true;
+         drainStartTime_ = System.currentTimeMillis();
          Scheduler.get().scheduleIncremental(new RepeatingCommand()
          {
             public boolean execute()
             {
-               final int MAX_EVENTS_AT_ONCE = 200;
-               for (int i = 0;
-                    i < MAX_EVENTS_AT_ONCE && pendingEvents_.size() > 0;
-                    i++)
+               // dispatch as many events as fit in this slice's time budget
+               // (always dispatching at least one so we make progress)
+               long sliceStart = System.currentTimeMillis();
+               long now = sliceStart;
+               while (!pendingEvents_.isEmpty())
                {
-                  ClientEvent currentEvent = pendingEvents_.remove(0);
-                  dispatchEvent(currentEvent);
+                  dispatchEvent(nextCoalescedEvent());
+                  now = System.currentTimeMillis();
+                  recordDispatch(now);
+                  if (now - sliceStart >= MAX_DRAIN_SLICE_MS)
+                     break;
                }
-               return pendingEvents_.size() > 0;
+
+               if (pendingEvents_.isEmpty())
+               {
+                  drainScheduled_ = false;
+                  lastDrainLatency_ = now - drainStartTime_;
+                  maxDrainLatency_ = Math.max(maxDrainLatency_, lastDrainLatency_);
+                  return false;
+               }
+               return true;
             }
          });
       }
    }
+
+   /**
+    * @return number of events dispatched during the most recently completed
+    * one second interval
+    */
+   public int getEventsPerSecond()
+   {
+      return eventsPerSecond_;
+   }
+
+   /**
+    * @return largest number of events observed waiting to be dispatched
+    */
+   public int getMaxQueueDepth()
+   {
+      return maxQueueDepth_;
+   }
+
+   /**
+    * @return number of events currently waiting to be dispatched
+    */
+   public int getQueueDepth()
+   {
+      return pendingEvents_.size();
+   }
+
+   /**
+    * @return milliseconds taken to drain the queue the last time it emptied,
+    * measured from when the first event of that run was enqueued
+    */
+   public long getLastDrainLatency()
+   {
+      return lastDrainLatency_;
+   }
+
+   /**
+    * @return largest drain latency (in milliseconds) observed
+    */
+   public long getMaxDrainLatency()
+   {
+      return maxDrainLatency_;
+   }
+
+   public void resetStats()
+   {
+      maxQueueDepth_ = pendingEvents_.size();
+      maxDrainLatency_ = 0;
+      lastDrainLatency_ = 0;
+      eventsPerSecond_ = 0;
+      coalescedCount_ = 0;
+      rateWindowCount_ = 0;
+      rateWindowStart_ = System.currentTimeMillis();
+   }
+
+   /**
+    * Removes the next event from the queue, merging it with any immediately
+    * following events of the same type that write output to the same target
+    * (e.g. a run of console_output events) so they are dispatched as one.
+    * Only adjacent events are merged so ordering relative to other event
+    * types is preserved.
+    */
+   private ClientEvent nextCoalescedEvent()
+   {
+      ClientEvent event = pendingEvents_.poll();
+
+      String type = event.getType();
+      String textField, keyField;
+      if (type == ClientEvent.ConsoleOutput || type == ClientEvent.ConsoleError)
+      {
+         textField = "text";
+         keyField = "console";
+      }
+      else if (type == ClientEvent.ConsoleProcessOutput)
+      {
+         textField = "output";
+         keyField = "handle";
+      }
+      else
+      {
+         return event;
+      }
+
+      JavaScriptObject data = event.getData();
+      String key = getStringField(data, keyField);
+      StringBuilder merged = null;
+      int lastId = event.getId();
+      while (!pendingEvents_.isEmpty())
+      {
+         ClientEvent next = pendingEvents_.peek();
+         if (next.getType() != type)
+            break;
+
+         JavaScriptObject nextData = next.getData();
+         if (!StringUtil.equals(key, getStringField(nextData, keyField)))
+            break;
+
+         if (merged == null)
+         {
+            merged = new StringBuilder();
+            merged.append(StringUtil.notNull(getStringField(data, textField)));
+         }
+         merged.append(StringUtil.notNull(getStringField(nextData, textField)));
+         lastId = next.getId();
+         pendingEvents_.poll();
+         coalescedCount_++;
+      }
+
+      if (merged == null)
+         return event;
+
+      return ClientEvent.create(lastId, type,
+            copyWithField(data, textField, merged.toString()));
+   }
+
+   /**
+    * @return number of events that were merged into a preceding event
+    * rather than being dispatched individually
+    */
+   public int getCoalescedCount()
+   {
+      return coalescedCount_;
+   }
+
+   private static final native String getStringField(JavaScriptObject data,
+                                                     String field) /*-{
+      var value = data[field];
+      return value == null ? null : "" + value;
+   }-*/;
+
+   private static final native JavaScriptObject copyWithField(JavaScriptObject data,
+                                                              String field,
+                                                              String value) /*-{
+      var copy = {};
+      for (var key in data)
+         if (data.hasOwnProperty(key))
+            copy[key] = data[key];
+      copy[field] = value;
+      return copy;
+   }-*/;
+
+   private void recordDispatch(long now)
+   {
+      if (now - rateWindowStart_ >= 1000)
+      {
+         // if an entire interval elapsed without events the rate is zero
+         eventsPerSecond_ = now - rateWindowStart_ < 2000 ? rateWindowCount_ : 0;
+         rateWindowStart_ = now;
+         rateWindowCount_ = 0;
+      }
+      rateWindowCount_++;
+   }
    
    private void dispatchEvent(ClientEvent event) 
    { 
@@ -1091,7 +1259,23 @@ public class ClientEventDispatcher
 
    private final EventBus eventBus_;
 
-   private final ArrayList<ClientEvent> pendingEvents_ = new ArrayList<ClientEvent>();
+   // ring buffer of events waiting to be dispatched
+   private final Queue<ClientEvent> pendingEvents_ = new ArrayDeque<>();
+
+   // time budget for each incremental dispatch pass, after which we yield
+   // back to the browser so the UI stays responsive
+   private static final int MAX_DRAIN_SLICE_MS = 15;
+
+   // queue statistics
+   private long drainStartTime_;
+   private long lastDrainLatency_;
+   private long maxDrainLatency_;
+   private boolean drainScheduled_;
+   private int coalescedCount_;
+   private int maxQueueDepth_;
+   private int eventsPerSecond_;
+   private int rateWindowCount_;
+   private long rateWindowStart_ = System.currentTimeMillis();
    
 
 }
@@ -16,9 +16,12 @@
 package org.rstudio.studio.client.server.remote;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import com.google.gwt.json.client.*;
 import org.rstudio.core.client.BrowseCap;
@@ -35,6 +38,7 @@ import org.rstudio.core.client.jsonrpc.RequestLogEntry.ResponseType;
 import org.rstudio.core.client.jsonrpc.RpcError;
 import org.rstudio.core.client.jsonrpc.RpcObjectList;
 import org.rstudio.core.client.jsonrpc.RpcRequest;
+import org.rstudio.core.client.jsonrpc.RpcRequestBatcher;
 import org.rstudio.core.client.jsonrpc.RpcRequestCallback;
 import org.rstudio.core.client.jsonrpc.RpcResponse;
 import org.rstudio.core.client.jsonrpc.RpcResponseHandler;
@@ -1346,6 +1350,11 @@ public class RemoteServer implements Server
       sendRequest(RPC_SCOPE, "suggest_topics", prefix, requestCallback);
    }
 
+   public void getHelpTopics(ServerRequestCallback<JsArrayString> requestCallback)
+   {
+      sendRequest(RPC_SCOPE, "get_help_topics", requestCallback);
+   }
+
    public void getHelp(String topic,
                        String packageName,
                        int options,
@@ -3334,8 +3343,7 @@ public class RemoteServer implements Server
       if (isDisconnected(scope))
          return rpcRequest;
 
-      // send the request
-      rpcRequest.send(new RpcRequestCallback() {
+      RpcRequestCallback requestCallback = new RpcRequestCallback() {
          public void onError(RpcRequest request, RpcError error)
          {
             // ignore errors if we are disconnected
@@ -3406,12 +3414,32 @@ public class RemoteServer implements Server
                   serverEventListener_.ensureEvents();
             }
          }
-      });
+      };
+
+      // send the request (batching it with others sent in the same event
+      // loop turn if its method opts in)
+      if (isBatchable(sourceWindow, scope, method, redactLog, refreshCreds))
+         rpcBatcher_.send(rpcRequest, requestCallback);
+      else
+         rpcRequest.send(requestCallback);
 
       // return the request
       return rpcRequest;
    }
    
+   private boolean isBatchable(String sourceWindow,
+                               String scope,
+                               String method,
+                               boolean redactLog,
+                               boolean refreshCreds)
+   {
+      return sourceWindow == null &&
+             StringUtil.equals(scope, RPC_SCOPE) &&
+             !redactLog &&
+             refreshCreds &&
+             BATCHED_METHODS.contains(method);
+   }
+
    private void ensureListeningForEvents()
    {
       // don't do this if we are disconnected
@@ -5284,6 +5312,22 @@ public class RemoteServer implements Server
             requestCallback);
    }
 
+   @Override
+   public void getChunkConsoleOutput(String docId, String chunkId,
+         int startLine, int lineCount,
+         ServerRequestCallback<JsArray<JsArrayEx>> requestCallback)
+   {
+      JSONArray params = new JSONArray();
+      params.set(0, new JSONString(docId));
+      params.set(1, new JSONString(chunkId));
+      params.set(2, new JSONNumber(startLine));
+      params.set(3, new JSONNumber(lineCount));
+      sendRequest(RPC_SCOPE,
+            "get_chunk_console_output",
+            params,
+            requestCallback);
+   }
+
    @Override
    public void setChunkConsole(String docId, String chunkId, int commitMode,
          int execMode, int execScope, String options, int pixelWidth, 
@@ -6195,6 +6239,7 @@ public class RemoteServer implements Server
 
    private final RemoteServerAuth serverAuth_;
    private final RemoteServerEventListener serverEventListener_;
+   private final RpcRequestBatcher rpcBatcher_ = new RpcRequestBatcher();
 
    private final Provider<ConsoleProcessFactory> pConsoleProcessFactory_;
 
@@ -6679,5 +6724,14 @@ public class RemoteServer implements Server
    private static final String CROSSREF_WORKS = "crossref_works";
    
    private static final String XREF_INDEX_FOR_FILE = "xref_index_for_file";
+
+   // methods which are commonly called together (e.g. on workbench activation
+   // or tab switches) and which are sent to the server in batches
+   private static final Set<String> BATCHED_METHODS = new HashSet<>(Arrays.asList(
+         GET_ENVIRONMENT_STATE,
+         GET_ENVIRONMENT_NAMES,
+         GET_PACKAGE_STATE,
+         CHECK_SPELLING,
+         LINT_R_SOURCE_DOCUMENT));
    
 }
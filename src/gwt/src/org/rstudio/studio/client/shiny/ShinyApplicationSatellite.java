@@ -18,6 +18,7 @@ import org.rstudio.studio.client.RStudioGinjector;
 import org.rstudio.studio.client.application.ApplicationUncaughtExceptionHandler;
 import org.rstudio.studio.client.common.satellite.Satellite;
 import org.rstudio.studio.client.common.satellite.SatelliteApplication;
+import org.rstudio.studio.client.server.remote.ClientEvent;
 import org.rstudio.studio.client.shiny.ui.ShinyApplicationView;
 import org.rstudio.studio.client.workbench.commands.Commands;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
@@ -58,4 +59,12 @@ public class ShinyApplicationSatellite extends SatelliteApplication
    }
    
    private final String name_;
+
+   @Override
+   protected String[] getEventSubscriptions()
+   {
+      return new String[] {
+         ClientEvent.ShinyViewer
+      };
+   }
 }
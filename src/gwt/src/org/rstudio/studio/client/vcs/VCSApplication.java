@@ -18,6 +18,7 @@ import org.rstudio.studio.client.application.ApplicationUncaughtExceptionHandler
 import org.rstudio.studio.client.common.satellite.Satellite;
 import org.rstudio.studio.client.common.satellite.SatelliteApplication;
 import org.rstudio.studio.client.common.vcs.AskPassManager;
+import org.rstudio.studio.client.server.remote.ClientEvent;
 import org.rstudio.studio.client.workbench.commands.Commands;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 import org.rstudio.studio.client.workbench.views.source.editors.text.themes.AceThemes;
@@ -41,5 +42,20 @@ public class VCSApplication extends SatelliteApplication
       super(NAME, view, satellite, pAceThemes, pUserPrefs, uncaughtExHandler, commands);
    }
 
+   @Override
+   protected String[] getEventSubscriptions()
+   {
+      // console processes back the progress dialogs for commits, pushes, etc.
+      return new String[] {
+         ClientEvent.VcsRefresh,
+         ClientEvent.FileChanged,
+         ClientEvent.AskPass,
+         ClientEvent.ConsoleProcessCreated,
+         ClientEvent.ConsoleProcessOutput,
+         ClientEvent.ConsoleProcessPrompt,
+         ClientEvent.ConsoleProcessExit
+      };
+   }
+
    public final static String NAME = "review_changes";
 }
@@ -16,7 +16,6 @@ package org.rstudio.studio.client.workbench.codesearch;
 
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.List;
 
 import org.rstudio.core.client.CodeNavigationTarget;
 import org.rstudio.core.client.DuplicateHelper;
@@ -59,22 +58,48 @@ public class CodeSearchOracle extends SuggestOracle
    // (see: SessionCodeSearch.cpp)
    public static int scoreMatch(String suggestion, String query, boolean isFile)
    {
-      String suggestionLower = suggestion.toLowerCase();
-      String queryLower = query.toLowerCase();
-      
+      return scoreMatch(suggestion,
+                        suggestion.toLowerCase(),
+                        query,
+                        query.toLowerCase(),
+                        isFile);
+   }
+   
+   // Variant of scoreMatch() for callers scoring many suggestions against
+   // the same query, which can supply already lower-cased forms of each.
+   public static int scoreMatch(String suggestion,
+                                String suggestionLower,
+                                String query,
+                                String queryLower,
+                                boolean isFile)
+   {
       // No penalty for identical results
       if (suggestion == query)
          return 0;
       
       int totalPenalty = 0;
       
-      // Get query matches in string (ordered)
-      List<Integer> matches = StringUtil.subsequenceIndices(suggestionLower, queryLower);
+      // More penalty for 'uninteresting' files
+      boolean uninterestingFile =
+            suggestion == "RcppExports.R" ||
+            suggestion == "RcppExports.cpp";
+      
+      // More penalty for 'uninteresting' extensions (e.g. .Rd)
+      boolean uninterestingExtension =
+            StringUtil.getExtension(suggestionLower).toLowerCase() == "rd";
       
-      // Loop over the matches and assign a score
-      for (int j = 0, n = matches.size(); j < n; j++)
+      // Walk the query matches in the string (ordered) and assign a score;
+      // this mirrors StringUtil.subsequenceIndices() without allocating
+      int matchCount = 0;
+      int prevMatchPos = -1;
+      for (int i = 0, n = queryLower.length(); i < n; i++)
       {
-         int matchPos = matches.get(j);
+         int matchPos = suggestionLower.indexOf(queryLower.charAt(i), prevMatchPos + 1);
+         if (matchPos == -1)
+            continue;
+         
+         int j = matchCount++;
+         prevMatchPos = matchPos;
          
          // The initial penalty is equal to the match position
          int penalty = matchPos;
@@ -94,14 +119,10 @@ public class CodeSearchOracle extends SuggestOracle
          if (StringUtil.charAt(suggestion, matchPos) == query.charAt(j))
             penalty--;
          
-         // More penalty for 'uninteresting' files
-         if (suggestion == "RcppExports.R" ||
-             suggestion == "RcppExports.cpp")
+         if (uninterestingFile)
             penalty += 6;
          
-         // More penalty for 'uninteresting' extensions (e.g. .Rd)
-         String extension = StringUtil.getExtension(suggestionLower);
-         if (extension.toLowerCase() == "rd")
+         if (uninterestingExtension)
             penalty += 6;
          
          totalPenalty += penalty;
@@ -112,7 +133,7 @@ public class CodeSearchOracle extends SuggestOracle
          totalPenalty++;
       
       // Penalize unmatched characters
-      totalPenalty += (query.length() - matches.size()) * query.length();
+      totalPenalty += (query.length() - matchCount) * query.length();
       
       return totalPenalty;
    }
@@ -23,6 +23,7 @@ import com.google.gwt.event.shared.GwtEvent;
 import com.google.gwt.event.shared.HandlerManager;
 import com.google.gwt.event.shared.HandlerRegistration;
 import org.rstudio.core.client.CommandWithArg;
+import org.rstudio.core.client.Counter;
 import org.rstudio.core.client.js.JsObject;
 import org.rstudio.core.client.js.JsUtil;
 
@@ -126,6 +127,28 @@ public abstract class Prefs
       }
       
       public T getValue()
+      {
+         // the resolved value is cached until this value is set or the
+         // layers are replaced
+         if (resolved_)
+         {
+            cacheHits_.increment();
+            return resolvedValue_;
+         }
+         cacheMisses_.increment();
+
+         resolvedValue_ = resolveValue();
+         resolved_ = true;
+         return resolvedValue_;
+      }
+
+      public void invalidate()
+      {
+         resolved_ = false;
+         resolvedValue_ = null;
+      }
+
+      private T resolveValue()
       {
          // Work backwards through all layers, starting with the most specific
          // and working towards the most general.
@@ -197,6 +220,7 @@ public abstract class Prefs
             return;
 
          doSetValue(root, name_, value);
+         invalidate();
          if (fireEvents)
             ValueChangeEvent.fire(this, getValue());
          
@@ -216,6 +240,8 @@ public abstract class Prefs
       private final String description_;
       private final T defaultValue_;
       private final HandlerManager handlerManager_ = new HandlerManager(this);
+      private boolean resolved_ = false;
+      private T resolvedValue_;
    }
 
    public class BooleanValue extends JsonValue<Boolean>
@@ -367,6 +393,22 @@ public abstract class Prefs
       return values_.get(name);
    }
    
+   /**
+    * @return The number of getValue() calls answered from a cached value
+    */
+   public int getValueCacheHits()
+   {
+      return cacheHits_.get();
+   }
+
+   /**
+    * @return The number of getValue() calls that resolved through the layers
+    */
+   public int getValueCacheMisses()
+   {
+      return cacheMisses_.get();
+   }
+
    public abstract int userLayer();
    public abstract int projectLayer();
 
@@ -464,9 +506,16 @@ public abstract class Prefs
    protected void updatePrefs(JsArray<PrefLayer> layers)
    {
       layers_ = layers;
+      for (PrefValue<?> value : values_.values())
+      {
+         if (value instanceof JsonValue)
+            ((JsonValue<?>) value).invalidate();
+      }
    }
    
    private JsArray<PrefLayer> layers_;
+   private final Counter cacheHits_ = new Counter();
+   private final Counter cacheMisses_ = new Counter();
    private final HashMap<String, PrefValue<?>> values_ =
          new HashMap<String, PrefValue<?>>();
 }
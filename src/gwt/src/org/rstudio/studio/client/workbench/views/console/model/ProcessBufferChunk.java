@@ -31,6 +31,10 @@ public class ProcessBufferChunk extends JavaScriptObject
       return this.chunk_number;
    }-*/;
 
+   public final native int getChunkCount() /*-{
+      return this.chunk_count || 0;
+   }-*/;
+
    public final native boolean getMoreAvailable() /*-{
       return this.more_available;
    }-*/;
@@ -94,53 +94,30 @@ public class CompletionCache
       JsArrayInteger type       = original.getType();
       JsArrayString meta        = original.getMeta();
       
-      // Now, generate narrowed versions of the above
-      final JsVectorString completionsNarrow = JsVectorString.createVector().cast();
-      final JsVectorString packagesNarrow    = JsVectorString.createVector().cast();
-      final JsVectorBoolean quoteNarrow      = JsVectorBoolean.createVector().cast();
-      final JsVectorInteger typeNarrow       = JsVectorInteger.createVector().cast();
-      final JsVectorString metaNarrow        = JsVectorString.createVector().cast();
-      
+      // Filter and score each completion once against the new token
+      final String tokenLower = token.toLowerCase();
+      List<ScoredIndex> scored = new ArrayList<ScoredIndex>();
       for (int i = 0, n = completions.length(); i < n; i++)
       {
-         boolean isSubsequence = StringUtil.isSubsequence(completions.get(i), token, true);
-         if (isSubsequence)
-         {
-            completionsNarrow.push(completions.get(i));
-            packagesNarrow.push(packages.get(i));
-            quoteNarrow.push(quote.get(i));
-            typeNarrow.push(type.get(i));
-            metaNarrow.push(meta.get(i));
-         }
+         String name = completions.get(i);
+         String nameLower = name.toLowerCase();
+         if (!StringUtil.isSubsequence(nameLower, tokenLower))
+            continue;
+         
+         int score = CodeSearchOracle.scoreMatch(name, nameLower, token, tokenLower, false);
+         scored.add(new ScoredIndex(i, name, score));
       }
       
-      // Finally, sort these based on score
-      List<Integer> indices = new ArrayList<Integer>();
-      for (int i = 0, n = completionsNarrow.size(); i < n; i++)
-         indices.add(i);
-      
-      // Sort our indices vector
-      Collections.sort(indices, new Comparator<Integer>()
+      // Sort based on score
+      Collections.sort(scored, new Comparator<ScoredIndex>()
       {
          @Override
-         public int compare(Integer lhs, Integer rhs)
+         public int compare(ScoredIndex lhs, ScoredIndex rhs)
          {
-            int lhsType = typeNarrow.get(lhs);
-            int rhsType = typeNarrow.get(rhs);
-            
-            String lhsName = completionsNarrow.get(lhs);
-            String rhsName = completionsNarrow.get(rhs);
-            
-            int lhsScore = CodeSearchOracle.scoreMatch(lhsName, token, false);
-            int rhsScore = CodeSearchOracle.scoreMatch(rhsName, token, false);
-            
-            if (lhsType == RCompletionType.ARGUMENT) lhsType -= 3;
-            if (rhsType == RCompletionType.ARGUMENT) rhsType -= 3;
-            
-            if (lhsScore == rhsScore)
-               return lhsName.compareTo(rhsName);
+            if (lhs.score == rhs.score)
+               return lhs.name.compareTo(rhs.name);
             
-            return lhsScore < rhsScore ? -1 : 1;
+            return lhs.score < rhs.score ? -1 : 1;
          }
       });
       
@@ -151,18 +128,18 @@ public class CompletionCache
       final JsVectorInteger typeSorted       = JsVectorInteger.createVector().cast();
       final JsVectorString metaSorted        = JsVectorString.createVector().cast();
       
-      for (int i = 0, n = indices.size(); i < n; i++)
+      for (int i = 0, n = scored.size(); i < n; i++)
       {
-         int index = indices.get(i);
-         completionsSorted.push(completionsNarrow.get(index));
-         packagesSorted.push(packagesNarrow.get(index));
-         quoteSorted.push(quoteNarrow.get(index));
-         typeSorted.push(typeNarrow.get(index));
-         metaSorted.push(metaNarrow.get(index));
+         int index = scored.get(i).index;
+         completionsSorted.push(completions.get(index));
+         packagesSorted.push(packages.get(index));
+         quoteSorted.push(quote.get(index));
+         typeSorted.push(type.get(index));
+         metaSorted.push(meta.get(index));
       }
       
       // And return the completion result
-      return Completions.createCompletions(
+      Completions narrowed = Completions.createCompletions(
             token,
             completionsSorted.cast(),
             packagesSorted.cast(),
@@ -175,6 +152,25 @@ public class CompletionCache
             original.isCacheable(),
             original.getHelpHandler(),
             original.getLanguage());
+      
+      // Cache the narrowed result, so that the next keystroke narrows from
+      // these survivors rather than the full original list
+      cache_.put(line, narrowed);
+      return narrowed;
+   }
+   
+   private static class ScoredIndex
+   {
+      public ScoredIndex(int index, String name, int score)
+      {
+         this.index = index;
+         this.name = name;
+         this.score = score;
+      }
+      
+      public final int index;
+      public final String name;
+      public final int score;
    }
    
    private final SafeMap<String, Completions> cache_;
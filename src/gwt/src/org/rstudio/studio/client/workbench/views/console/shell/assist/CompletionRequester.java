@@ -132,11 +132,6 @@ public class CompletionRequester
       return false;
    }
 
-   private String basename(String absolutePath)
-   {
-      return absolutePath.substring(absolutePath.lastIndexOf('/') + 1);
-   }
-
    private boolean filterStartsWithDot(String item,
                                        String token)
    {
@@ -151,8 +146,23 @@ public class CompletionRequester
                                    final String diff,
                                    CompletionResult cachedResult)
    {
-      ArrayList<QualifiedName> newCompletions = new ArrayList<>();
-      newCompletions.ensureCapacity(cachedResult.completions.size());
+      // Narrow from the survivors of the longest prefix of this token that
+      // we've already narrowed for, since anything that didn't match that
+      // prefix can't match this token either. This doesn't hold across a
+      // '/', as file completions are only matched against the text after it.
+      ArrayList<QualifiedName> candidates = cachedResult.completions;
+      for (int i = diff.length() - 1; i > 0; i--)
+      {
+         if (diff.charAt(i) == '/')
+            break;
+
+         CompletionResult narrowed = cachedCompletions_.get(diff.substring(0, i));
+         if (narrowed != null)
+         {
+            candidates = narrowed.completions;
+            break;
+         }
+      }
 
       // For completions that are files or directories, we need to post-process
       // the token and the qualified name to strip out just the basename (filename).
@@ -161,50 +171,52 @@ public class CompletionRequester
       // trailing slashes)
 
       // Transform the token once beforehand for completions.
-      final String tokenSub   = token.substring(token.lastIndexOf('/') + 1);
-      final String tokenFuzzy = fuzzy(tokenSub);
-
-      for (QualifiedName qname : cachedResult.completions)
+      final String tokenSub      = token.substring(token.lastIndexOf('/') + 1);
+      final String tokenFuzzy    = fuzzy(tokenSub).toLowerCase();
+      final String tokenLower    = token.toLowerCase();
+      final String tokenSubLower = tokenSub.toLowerCase();
+
+      // Filter and score each candidate once
+      ArrayList<ScoredName> scored = new ArrayList<>();
+      for (QualifiedName qname : candidates)
       {
          // File types are narrowed only by the file name
-         if (RCompletionType.isFileType(qname.type))
-         {
-            if (StringUtil.isSubsequence(basename(qname.name), tokenFuzzy, true))
-               newCompletions.add(qname);
-         }
-         else
-         {
-            if (StringUtil.isSubsequence(qname.name, tokenFuzzy, true) &&
-                filterStartsWithDot(qname.name, token))
-               newCompletions.add(qname);
-         }
+         boolean isFile = RCompletionType.isFileType(qname.type);
+         String key = qname.getMatchKey();
+         String keyLower = qname.getMatchKeyLower();
+         if (!StringUtil.isSubsequence(keyLower, tokenFuzzy))
+            continue;
+         if (!isFile && !filterStartsWithDot(qname.name, token))
+            continue;
+
+         int score = isFile
+               ? CodeSearchOracle.scoreMatch(key, keyLower, tokenSub, tokenSubLower, true)
+               : CodeSearchOracle.scoreMatch(key, keyLower, token, tokenLower, false);
+
+         // Place arguments higher (give less penalty)
+         if (qname.type == RCompletionType.ARGUMENT)
+            score -= 3;
+
+         scored.add(new ScoredName(qname, score));
       }
 
-      newCompletions.sort(new Comparator<QualifiedName>()
+      scored.sort(new Comparator<ScoredName>()
       {
-
          @Override
-         public int compare(QualifiedName lhs, QualifiedName rhs)
+         public int compare(ScoredName lhs, ScoredName rhs)
          {
-            int lhsScore = RCompletionType.isFileType(lhs.type)
-                  ? CodeSearchOracle.scoreMatch(basename(lhs.name), tokenSub, true)
-                  : CodeSearchOracle.scoreMatch(lhs.name, token, false);
-            
-            int rhsScore = RCompletionType.isFileType(rhs.type)
-               ? CodeSearchOracle.scoreMatch(basename(rhs.name), tokenSub, true)
-               : CodeSearchOracle.scoreMatch(rhs.name, token, false);
-
-            // Place arguments higher (give less penalty)
-            if (lhs.type == RCompletionType.ARGUMENT) lhsScore -= 3;
-            if (rhs.type == RCompletionType.ARGUMENT) rhsScore -= 3;
-
-            if (lhsScore == rhsScore)
-               return lhs.compareTo(rhs);
-
-            return lhsScore < rhsScore ? -1 : 1;
+            if (lhs.score == rhs.score)
+               return lhs.qname.compareTo(rhs.qname);
+
+            return lhs.score < rhs.score ? -1 : 1;
          }
       });
 
+      ArrayList<QualifiedName> newCompletions = new ArrayList<>();
+      newCompletions.ensureCapacity(scored.size());
+      for (ScoredName entry : scored)
+         newCompletions.add(entry.qname);
+
       CompletionResult result = new CompletionResult(
             token,
             newCompletions,
@@ -216,6 +228,18 @@ public class CompletionRequester
       return result;
    }
 
+   private static class ScoredName
+   {
+      public ScoredName(QualifiedName qname, int score)
+      {
+         this.qname = qname;
+         this.score = score;
+      }
+
+      public final QualifiedName qname;
+      public final int score;
+   }
+
    public void getDplyrJoinCompletionsString(
          final String token,
          final String string,
@@ -971,6 +995,27 @@ public class CompletionRequester
          return new QualifiedName(name, pkgName);
       }
 
+      // The string this completion is matched against when narrowing
+      // (just the file name for file completions)
+      public String getMatchKey()
+      {
+         if (matchKey_ == null)
+         {
+            matchKey_ = RCompletionType.isFileType(type)
+                  ? name.substring(name.lastIndexOf('/') + 1)
+                  : name;
+         }
+         return matchKey_;
+      }
+
+      // Lower-cased match key; computed once and reused while narrowing
+      public String getMatchKeyLower()
+      {
+         if (matchKeyLower_ == null)
+            matchKeyLower_ = getMatchKey().toLowerCase();
+         return matchKeyLower_;
+      }
+
       public int compareTo(QualifiedName o)
       {
          if (name.endsWith("=") ^ o.name.endsWith("="))
@@ -1013,6 +1058,9 @@ public class CompletionRequester
       public final String helpHandler;
       public final String language;
 
+      private String matchKey_;
+      private String matchKeyLower_;
+
       private static final FileTypeRegistry FILE_TYPE_REGISTRY =
             RStudioGinjector.INSTANCE.getFileTypeRegistry();
    }
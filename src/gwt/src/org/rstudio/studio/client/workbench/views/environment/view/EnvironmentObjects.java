@@ -17,6 +17,7 @@ package org.rstudio.studio.client.workbench.views.environment.view;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 
 import com.google.gwt.core.client.GWT;
@@ -139,16 +140,17 @@ public class EnvironmentObjects extends ResizeComposite
 
    public void addObject(RObject obj)
    {
-      int idx = indexOfExistingObject(obj.getName());
+      List<RObjectEntry> objects = objectDataProvider_.getList();
+      final RObjectEntry oldEntry = objectsByName_.get(obj.getName());
+      int idx = indexOfExistingObject(oldEntry);
       final RObjectEntry newEntry = entryFromRObject(obj);
-      boolean added = false;
+      boolean refill = false;
 
       // if the object is already in the environment, just update the value
       if (idx >= 0)
       {
-         final RObjectEntry oldEntry = objectDataProvider_.getList().get(idx);
-
-         if (oldEntry.rObject.getType() == obj.getType())
+         boolean sameType = oldEntry.rObject.getType() == obj.getType();
+         if (sameType)
          {
             // type hasn't changed
             if (oldEntry.expanded && 
@@ -158,30 +160,37 @@ public class EnvironmentObjects extends ResizeComposite
                // refill it immediately. (another approach would be to push the
                // set of currently expanded objects to the server so these
                // objects would show up on the client already expanded)
-               fillEntryContents(newEntry, idx, false);
+               refill = true;
             }
             else
             {
                // contents aren't deferred, just use the expanded state directly
                newEntry.expanded = oldEntry.expanded;
             }
-            objectDataProvider_.getList().set(idx, newEntry);
-            added = true;
+         }
+
+         if (sameType && isSortedAt(newEntry, idx))
+         {
+            objects.set(idx, newEntry);
          }
          else
          {
-            // types did change, do a full add/remove
-            objectDataProvider_.getList().remove(idx);
+            // type or sort position changed, do a full add/remove
+            objects.remove(idx);
+            updateCategoryLeaders(idx, true);
+            idx = -1;
          }
-         
       }
-      if (!added)
+      if (idx < 0)
       {
-         RObjectEntry entry = entryFromRObject(obj);
-         idx = indexOfNewObject(entry);
-         objectDataProvider_.getList().add(idx, entry);
+         idx = indexOfNewObject(newEntry);
+         objects.add(idx, newEntry);
       }
-      updateCategoryLeaders(true);
+      objectsByName_.put(obj.getName(), newEntry);
+
+      if (refill)
+         fillEntryContents(newEntry, idx, false);
+      updateCategoryLeaders(idx, true);
       
       // scroll into view
       scrollTimer_.setRow(idx);
@@ -190,18 +199,18 @@ public class EnvironmentObjects extends ResizeComposite
 
    public void removeObject(String objName)
    {
-      int idx = indexOfExistingObject(objName);
+      int idx = indexOfExistingObject(objectsByName_.remove(objName));
       if (idx >= 0)
       {
          objectDataProvider_.getList().remove(idx);
+         updateCategoryLeaders(idx, true);
       }
-
-      updateCategoryLeaders(true);
    }
    
    public void clearObjects()
    {
       objectDataProvider_.getList().clear();
+      objectsByName_.clear();
    }
    
    public void clearSelection()
@@ -219,6 +228,7 @@ public class EnvironmentObjects extends ResizeComposite
       {
          RObjectEntry entry = entryFromRObject(objects.get(i));
          objectEntryList.add(entry);
+         objectsByName_.put(entry.rObject.getName(), entry);
       }
       Collections.sort(objectEntryList, objectSort_);
 
@@ -509,9 +519,16 @@ public class EnvironmentObjects extends ResizeComposite
    
    public void setAscendingSort(boolean ascending)
    {
+      boolean reversed = ascending != objectSort_.getAscending();
       objectSort_.setAscending(ascending);
       observer_.setViewDirty();
-      Collections.sort(objectDataProvider_.getList(), objectSort_);
+
+      // the column sort is a total order, so flipping its direction is just
+      // a reversal of the already sorted list
+      if (reversed && objectSort_.getSortType() == RObjectEntrySort.SORT_COLUMN)
+         Collections.reverse(objectDataProvider_.getList());
+      else
+         Collections.sort(objectDataProvider_.getList(), objectSort_);
    }
    
    public void setSort(int column, boolean ascending)
@@ -542,45 +559,59 @@ public class EnvironmentObjects extends ResizeComposite
 
    // Private methods: object management --------------------------------------
 
-   private int indexOfExistingObject(String objectName)
+   private int indexOfExistingObject(RObjectEntry entry)
    {
+      if (entry == null)
+         return -1;
+
+      // the list is kept sorted under a total order, so the entry can be
+      // located by binary search
       List<RObjectEntry> objects = objectDataProvider_.getList();
+      int index = Collections.binarySearch(objects, entry, objectSort_);
+      if (index >= 0 && objects.get(index) == entry)
+         return index;
 
-      // find the position of the object in the list--we can't use binary
-      // search here since we're matching on names and the list isn't sorted
-      // by name (it's sorted by type, then name)
-      int index;
-      boolean foundObject = false;
+      // fall back to a scan in case the collator considers distinct names
+      // equal
       for (index = 0; index < objects.size(); index++)
       {
-         if (objects.get(index).rObject.getName() == objectName)
-         {
-            foundObject = true;
-            break;
-         }
+         if (objects.get(index) == entry)
+            return index;
       }
-
-      return foundObject ? index : -1;
+      return -1;
    }
 
-   // returns the position a new object entry should occupy in the table
+   // returns the position a new object entry should occupy in the table (after
+   // any entries that compare equal to it)
    private int indexOfNewObject(RObjectEntry obj)
    {
       List<RObjectEntry> objects = objectDataProvider_.getList();
-      int numObjects = objects.size();
-      int idx;
-      // consider: can we use binary search here?
-      for (idx = 0; idx < numObjects; idx++)
+      int lo = 0;
+      int hi = objects.size();
+      while (lo < hi)
       {
-         if (objectSort_.compare(obj, objects.get(idx)) < 0)
-         {
-            break;
-         }
+         int mid = (lo + hi) >>> 1;
+         if (objectSort_.compare(obj, objects.get(mid)) < 0)
+            hi = mid;
+         else
+            lo = mid + 1;
       }
-      return idx;
+      return lo;
+   }
+
+   // whether an entry can occupy the given index without breaking the sort
+   private boolean isSortedAt(RObjectEntry entry, int idx)
+   {
+      List<RObjectEntry> objects = objectDataProvider_.getList();
+      if (idx > 0 && objectSort_.compare(objects.get(idx - 1), entry) > 0)
+         return false;
+      if (idx < objects.size() - 1 &&
+          objectSort_.compare(entry, objects.get(idx + 1)) > 0)
+         return false;
+      return true;
    }
 
-   // after adds or removes, we need to tag the new category-leading objects
+   // after bulk changes, we need to tag the new category-leading objects
    private void updateCategoryLeaders(boolean redrawUpdatedRows)
    {
       // no need to do these model updates if we're not in the mode that 
@@ -589,53 +620,58 @@ public class EnvironmentObjects extends ResizeComposite
          return;
       
       List<RObjectEntry> objects = objectDataProvider_.getList();
-
-      // whether or not we've found a leader for each category
-      Boolean[] leaders = { false, false, false, false };
-      boolean foundFirstObject = false;
-
+      RObjectEntry previous = null;
       for (int i = 0; i < objects.size(); i++)
       {
          RObjectEntry entry = objects.get(i);
          if (!entry.visible)
             continue;
-         if (!foundFirstObject)
-         {
-            entry.isFirstObject = true;
-            foundFirstObject = true;
-         }
-         else
-         {
-            entry.isFirstObject = false;
-         }
-         int category = entry.getCategory();
-         Boolean leader = entry.isCategoryLeader;
-         // if we haven't found a leader for this category yet, make this object
-         // the leader if it isn't already
-         if (!leaders[category])
-         {
-            leaders[category] = true;
-            if (!leader)
-            {
-               entry.isCategoryLeader = true;
-            }
-         }
-         // if this object is marked as the leader but we've already found a
-         // leader, unmark it
-         else if (leader)
-         {
-            entry.isCategoryLeader = false;
-         }
+         updateCategoryLeader(entry, previous, i, redrawUpdatedRows);
+         previous = entry;
+      }
+   }
 
-         // if we changed the leader flag, redraw the row
-         if (leader != entry.isCategoryLeader
-             && redrawUpdatedRows)
-         {
-            redrawRowSafely(i);
-         }
+   // after an add or remove at the given index, only the row now at that index
+   // and the visible row following it can change leader status (categories
+   // are contiguous in the list view)
+   private void updateCategoryLeaders(int idx, boolean redrawUpdatedRows)
+   {
+      if (objectDisplayType_ != OBJECT_LIST_VIEW)
+         return;
+
+      List<RObjectEntry> objects = objectDataProvider_.getList();
+      int prev = Math.min(idx, objects.size()) - 1;
+      while (prev >= 0 && !objects.get(prev).visible)
+         prev--;
+
+      RObjectEntry previous = prev >= 0 ? objects.get(prev) : null;
+      int updated = 0;
+      for (int i = Math.max(idx, 0); i < objects.size() && updated < 2; i++)
+      {
+         RObjectEntry entry = objects.get(i);
+         if (!entry.visible)
+            continue;
+         updateCategoryLeader(entry, previous, i, redrawUpdatedRows);
+         previous = entry;
+         updated++;
       }
    }
 
+   private void updateCategoryLeader(RObjectEntry entry,
+                                     RObjectEntry previous,
+                                     int idx,
+                                     boolean redrawUpdatedRows)
+   {
+      boolean wasLeader = entry.isCategoryLeader;
+      entry.isFirstObject = previous == null;
+      entry.isCategoryLeader = previous == null ||
+                               previous.getCategory() != entry.getCategory();
+
+      // if we changed the leader flag, redraw the row
+      if (wasLeader != entry.isCategoryLeader && redrawUpdatedRows)
+         redrawRowSafely(idx);
+   }
+
    private Widget buildEmptyGridMessage()
    {
       ThemeStyles styles = ThemeResources.INSTANCE.themeStyles();
@@ -762,6 +798,7 @@ public class EnvironmentObjects extends ResizeComposite
    Label environmentEmptyMessage_;
 
    private ListDataProvider<RObjectEntry> objectDataProvider_;
+   private final HashMap<String, RObjectEntry> objectsByName_ = new HashMap<>();
    private RObjectEntrySort objectSort_;
 
    private EnvironmentObjectsObserver observer_;
@@ -30,6 +30,11 @@ class RObjectEntrySort implements Comparator<RObjectEntry>
    {
       sortType_ = sortType;
    }
+
+   public int getSortType()
+   {
+      return sortType_;
+   }
    
    public void setSortColumn(int sortColumn)
    {
@@ -102,6 +107,14 @@ class RObjectEntrySort implements Comparator<RObjectEntry>
                                    second.getDisplayValue());
             break;
          }
+
+         // break ties on name so the order is total; this keeps binary
+         // searches on the sorted list well-defined
+         if (result == 0 && sortColumn_ != ObjectGridColumn.COLUMN_NAME)
+         {
+            result = localeCompare(first.rObject.getName(),
+                                   second.rObject.getName());
+         }
       }
       return result;
    }
@@ -16,6 +16,7 @@ package org.rstudio.studio.client.workbench.views.files.ui;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Set;
 
@@ -27,7 +28,7 @@ import org.rstudio.core.client.cellview.LabeledBoolean;
 import org.rstudio.core.client.cellview.LinkColumn;
 import org.rstudio.core.client.files.FileSystemItem;
 import org.rstudio.core.client.widget.OperationWithInput;
-import org.rstudio.core.client.widget.RStudioDataGrid;
+import org.rstudio.core.client.widget.VirtualizedDataGrid;
 import org.rstudio.studio.client.ResizableHeader;
 import org.rstudio.studio.client.common.filetypes.FileIcon;
 import org.rstudio.studio.client.common.filetypes.FileIconResourceCell;
@@ -38,13 +39,14 @@ import org.rstudio.studio.client.workbench.views.files.model.FileChange;
 import com.google.gwt.core.client.JsArray;
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.core.client.Scheduler.ScheduledCommand;
+import com.google.gwt.dom.client.NodeList;
 import com.google.gwt.dom.client.Style.Unit;
 import com.google.gwt.dom.client.Style.WhiteSpace;
+import com.google.gwt.dom.client.TableRowElement;
 import com.google.gwt.event.logical.shared.ResizeEvent;
 import com.google.gwt.event.logical.shared.ResizeHandler;
 import com.google.gwt.safehtml.shared.SafeHtmlBuilder;
 import com.google.gwt.safehtml.shared.SafeHtmlUtils;
-import com.google.gwt.user.cellview.client.DataGrid;
 import com.google.gwt.user.cellview.client.Column;
 import com.google.gwt.user.cellview.client.ColumnSortEvent;
 import com.google.gwt.user.cellview.client.ColumnSortList;
@@ -78,11 +80,9 @@ public class FilesList extends Composite
       sortHandler_ = new ColumnSortEvent.ListHandler<FileSystemItem>(
                                                       dataProvider_.getList());
       
-      // create cell table
-      filesDataGrid_ = new RStudioDataGrid<FileSystemItem>(
-                                          15,
-                                          FilesListDataGridResources.INSTANCE,
-                                          KEY_PROVIDER);
+      // create cell table (virtualized, so that only the rows near the
+      // viewport are rendered in large directories)
+      filesDataGrid_ = new FilesDataGrid();
       selectionModel_ = new MultiSelectionModel<FileSystemItem>(KEY_PROVIDER);
       filesDataGrid_.setSelectionModel(
          selectionModel_, 
@@ -386,8 +386,8 @@ public class FilesList extends Composite
       containingPath_ = containingPath;
       parentPath_ = containingPath_.getParentPath();
       
-      // set page size (+1 for parent path)
-      filesDataGrid_.setPageSize(files.length() + 1);
+      // discard any changes queued against the previous listing
+      pendingChanges_.clear();
       
       // get underlying list
       List<FileSystemItem> fileList = dataProvider_.getList();
@@ -404,6 +404,11 @@ public class FilesList extends Composite
       // apply sort list
       applyColumnSortList();
       
+      // start at the top of the new listing
+      filesDataGrid_.setVerticalScrollPosition(0);
+      dataProvider_.flush();
+      filesDataGrid_.redraw();
+      
       // fire selection changed
       observer_.onFileSelectionChanged();
    }
@@ -433,70 +438,94 @@ public class FilesList extends Composite
    }
    
    public void updateWithAction(FileChange viewAction)
-   {        
+   {
       final FileSystemItem file = viewAction.getFile();
-      final List<FileSystemItem> files = getFiles();
       switch(viewAction.getType())
       {
       case FileChange.ADD:
-         if (file.getParentPath().equalTo(containingPath_))
-         {
-            int row = rowForFile(file);
-            if (row == -1)
-            {
-               files.add(file);
-               filesDataGrid_.setPageSize(files.size() + 1);
-            }
-            else
-            {
-               // since we eagerly perform renames at the client UI
-               // layer then sometimes an "added" file is really just
-               // a rename. in this case the file already exists due
-               // to the eager rename in the client but still needs its
-               // metadata updated
-               files.set(row, file);
-            }
-         }
+         if (!file.getParentPath().equalTo(containingPath_))
+            return;
          break;
          
       case FileChange.MODIFIED:
-         {
-            int row = rowForFile(file);
-            if (row != -1)
-            {
-               // the selection model loses the selection state when we update
-               // the row, so save and restore it manually.
-               boolean selected = selectionModel_.isSelected(file);
-               files.set(row, file);
-               selectionModel_.setSelected(file, selected);
-            }
-         }
-         break;
- 
       case FileChange.DELETE:
-         {
-            int row = rowForFile(file);
-            if (row != -1)
-            {
-               files.remove(row);
-               
-               // if a file is deleted and then re-added within the same
-               // event loop (as occurs when gedit saves a text file) the
-               // table doesn't always update correctly (it has a duplicate
-               // of the item deleted / re-added). the call to flush overcomes
-               // this issue
-               dataProvider_.flush();
-            }
-         }
          break;
       
       default:
          Debug.log("Unexpected file change type: " + viewAction.getType());
-         
-         break;
+         return;
+      }
+      
+      // Queue the change, keyed by path so that only the latest change to
+      // each file is kept (e.g. a file deleted then re-added within the
+      // same event loop, as occurs when gedit saves a text file), and
+      // apply all queued changes together once the current batch of
+      // events has been dispatched.
+      pendingChanges_.put(keyForFile(file), viewAction);
+      if (!applyChangesScheduled_)
+      {
+         applyChangesScheduled_ = true;
+         Scheduler.get().scheduleDeferred(() ->
+         {
+            applyChangesScheduled_ = false;
+            applyPendingChanges();
+         });
       }
    }
    
+   private void applyPendingChanges()
+   {
+      if (pendingChanges_.isEmpty())
+         return;
+      
+      // rebuild the list in a single pass, replacing or dropping the rows
+      // for files with pending changes
+      List<FileSystemItem> files = getFiles();
+      ArrayList<FileSystemItem> updated = new ArrayList<FileSystemItem>(
+            files.size() + pendingChanges_.size());
+      ArrayList<FileSystemItem> selected = new ArrayList<FileSystemItem>();
+      for (FileSystemItem item : files)
+      {
+         FileChange change = item == parentPath_ ?
+               null : pendingChanges_.remove(keyForFile(item));
+         if (change == null)
+         {
+            updated.add(item);
+         }
+         else if (change.getType() != FileChange.DELETE)
+         {
+            // since we eagerly perform renames at the client UI layer then
+            // sometimes an "added" file is really just a rename. in this
+            // case the file already exists due to the eager rename in the
+            // client but still needs its metadata updated. 
+            //
+            // the selection model loses the selection state when we update
+            // the row, so save and restore it manually.
+            if (selectionModel_.isSelected(item))
+               selected.add(change.getFile());
+            updated.add(change.getFile());
+         }
+      }
+      
+      // anything left over that was added is a new file
+      for (FileChange change : pendingChanges_.values())
+      {
+         if (change.getType() == FileChange.ADD)
+            updated.add(change.getFile());
+      }
+      pendingChanges_.clear();
+      
+      files.clear();
+      files.addAll(updated);
+      for (FileSystemItem item : selected)
+         selectionModel_.setSelected(item, true);
+      
+      // re-sort once for the whole batch
+      applyColumnSortList();
+      dataProvider_.flush();
+      filesDataGrid_.redraw();
+   }
+   
    public void renameFile(FileSystemItem from, FileSystemItem to)
    {
       int index = getFiles().indexOf(from);
@@ -512,14 +541,10 @@ public class FilesList extends Composite
       return dataProvider_.getList();
    }
    
-   private int rowForFile(FileSystemItem file)
+   private static String keyForFile(FileSystemItem file)
    {
-      List<FileSystemItem> files = getFiles();
-      for (int i=0; i<files.size(); i++)
-         if (files.get(i).equalTo(file))
-            return i;
-      
-      return -1;
+      // matches the semantics of FileSystemItem.equalTo()
+      return (file.isDirectory() ? "d:" : "f:") + file.getPath().toLowerCase();
    }
    
    private void applyColumnSortList()
@@ -607,6 +632,43 @@ public class FilesList extends Composite
 
    }
    
+   private class FilesDataGrid extends VirtualizedDataGrid<FileSystemItem>
+   {
+      public FilesDataGrid()
+      {
+         super(FilesListDataGridResources.INSTANCE, KEY_PROVIDER);
+      }
+      
+      @Override
+      public int getRowHeight()
+      {
+         // rows are uniform in height, so measure the first rendered row
+         // (skipping padding rows, which carry an explicit height)
+         if (rowHeight_ == 0)
+         {
+            NodeList<TableRowElement> rows = getTableBodyElement().getRows();
+            for (int i = 0; i < rows.getLength(); i++)
+            {
+               TableRowElement row = rows.getItem(i);
+               if (!row.hasAttribute("height") && row.getOffsetHeight() > 0)
+               {
+                  rowHeight_ = row.getOffsetHeight();
+                  break;
+               }
+            }
+         }
+         return rowHeight_ > 0 ? rowHeight_ : DEFAULT_ROW_HEIGHT_PIXELS;
+      }
+      
+      @Override
+      public int getTotalNumberOfRows()
+      {
+         return dataProvider_.getList().size();
+      }
+      
+      private int rowHeight_ = 0;
+   }
+   
    private static final ProvidesKey<FileSystemItem> KEY_PROVIDER = 
       new ProvidesKey<FileSystemItem>() {
          @Override
@@ -683,7 +745,7 @@ public class FilesList extends Composite
    private FileSystemItem containingPath_ = null;
    private FileSystemItem parentPath_ = null;
   
-   private final DataGrid<FileSystemItem> filesDataGrid_; 
+   private final FilesDataGrid filesDataGrid_; 
    private final LinkColumn<FileSystemItem> nameColumn_;
    private final TextColumn<FileSystemItem> sizeColumn_;
    private final TextColumn<FileSystemItem> modifiedColumn_;
@@ -691,6 +753,10 @@ public class FilesList extends Composite
    private boolean activeSortColumnAscending_ = true;
    private boolean applyingProgrammaticSort_ = false;
    
+   private final HashMap<String, FileChange> pendingChanges_ =
+         new HashMap<String, FileChange>();
+   private boolean applyChangesScheduled_ = false;
+   
    
    private final MultiSelectionModel<FileSystemItem> selectionModel_;
    private final ListDataProvider<FileSystemItem> dataProvider_;
@@ -699,6 +765,7 @@ public class FilesList extends Composite
    private final Files.Display.Observer observer_;
    private final ResizeLayoutPanel layoutPanel_;
    
+   private static final int DEFAULT_ROW_HEIGHT_PIXELS = 24;
    private static final int CHECK_COLUMN_WIDTH_PIXELS = 30;
    private static final int ICON_COLUMN_WIDTH_PIXELS = 26;
    private static final int SIZE_COLUMN_WIDTH_PIXELS = 80;
@@ -22,6 +22,8 @@ public interface HelpServerOperations
    void suggestTopics(String prefix,
                       ServerRequestCallback<JsArrayString> requestCallback);
 
+   void getHelpTopics(ServerRequestCallback<JsArrayString> requestCallback);
+
    void getHelp(String topic, 
                 String packageName,
                 int options,
@@ -15,28 +15,127 @@
 package org.rstudio.studio.client.workbench.views.help.search;
 
 import com.google.gwt.core.client.JsArrayString;
+import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.ui.SuggestOracle;
 import com.google.inject.Inject;
+import org.rstudio.studio.client.application.events.EventBus;
 import org.rstudio.studio.client.server.ServerError;
 import org.rstudio.studio.client.server.ServerRequestCallback;
 import org.rstudio.studio.client.workbench.views.help.model.HelpServerOperations;
+import org.rstudio.studio.client.workbench.views.packages.events.PackageStatusChangedEvent;
 
 import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Suggests help topics from a local index of the topics in attached
+ * packages. The index is fetched on first use and refetched (lazily) after
+ * packages are attached or detached; while a refetch is in flight the
+ * previous index keeps answering. Only the most recent request is answered,
+ * so responses can't arrive out of order.
+ */
 public class HelpSearchOracle extends SuggestOracle
 {
    @Inject
-   public HelpSearchOracle(HelpServerOperations server)
+   public HelpSearchOracle(HelpServerOperations server, EventBus events)
    {
       server_ = server;
+
+      events.addHandler(PackageStatusChangedEvent.TYPE,
+                        event -> indexStale_ = true);
    }
 
    @Override
    public void requestSuggestions(final Request request, 
                                   final Callback callback)
    {
-      String query = request.getQuery();
-      server_.suggestTopics(query,
+      pendingRequest_ = request;
+      pendingCallback_ = callback;
+
+      // if the server couldn't provide an index, ask it about each
+      // (debounced) query instead
+      if (indexUnavailable_ && !indexStale_)
+      {
+         suggestTimer_.schedule(SUGGEST_DELAY_MS);
+         return;
+      }
+
+      if (index_ == null || indexStale_)
+         updateIndex();
+
+      if (index_ != null)
+         answerPendingRequest();
+   }
+
+   private void updateIndex()
+   {
+      if (indexLoading_)
+         return;
+
+      indexLoading_ = true;
+      indexStale_ = false;
+      server_.getHelpTopics(new ServerRequestCallback<JsArrayString>() {
+         @Override
+         public void onResponseReceived(JsArrayString topics)
+         {
+            indexLoading_ = false;
+            indexUnavailable_ = false;
+
+            List<String> topicList = new ArrayList<String>();
+            for (int i = 0; i < topics.length(); i++)
+               topicList.add(topics.get(i));
+            index_ = new HelpTopicIndex(topicList);
+
+            answerPendingRequest();
+         }
+
+         @Override
+         public void onError(ServerError error)
+         {
+            indexLoading_ = false;
+
+            if (index_ == null)
+            {
+               indexUnavailable_ = true;
+               suggestTimer_.schedule(SUGGEST_DELAY_MS);
+            }
+         }
+      });
+   }
+
+   private void answerPendingRequest()
+   {
+      if (pendingRequest_ == null)
+         return;
+
+      Request request = pendingRequest_;
+      Callback callback = pendingCallback_;
+      pendingRequest_ = null;
+      pendingCallback_ = null;
+
+      List<String> topics = index_.suggest(request.getQuery(),
+                                           request.getLimit());
+      ArrayList<SearchSuggestion> results =
+         new ArrayList<SearchSuggestion>();
+      for (String topic : topics)
+         results.add(new SearchSuggestion(topic));
+
+      callback.onSuggestionsReady(request, new Response(results));
+   }
+
+   private void suggestFromServer()
+   {
+      if (pendingRequest_ == null)
+         return;
+
+      final Request request = pendingRequest_;
+      final Callback callback = pendingCallback_;
+      pendingRequest_ = null;
+      pendingCallback_ = null;
+
+      // ignore replies superseded by a later query
+      final int requestId = ++suggestRequestId_;
+      server_.suggestTopics(request.getQuery(),
                              new ServerRequestCallback<JsArrayString>() {
          @Override
          public void onError(ServerError error)
@@ -46,6 +145,9 @@ public class HelpSearchOracle extends SuggestOracle
          @Override
          public void onResponseReceived(JsArrayString suggestions)
          {
+            if (requestId != suggestRequestId_ || pendingRequest_ != null)
+               return;
+
             int maxCount = Math.min(suggestions.length(), request.getLimit());
 
             ArrayList<SearchSuggestion> results =
@@ -79,4 +181,24 @@ public class HelpSearchOracle extends SuggestOracle
    }
 
    private final HelpServerOperations server_;
+
+   private HelpTopicIndex index_;
+   private boolean indexStale_ = false;
+   private boolean indexLoading_ = false;
+   private boolean indexUnavailable_ = false;
+
+   private Request pendingRequest_;
+   private Callback pendingCallback_;
+
+   private int suggestRequestId_ = 0;
+   private final Timer suggestTimer_ = new Timer()
+   {
+      @Override
+      public void run()
+      {
+         suggestFromServer();
+      }
+   };
+
+   private static final int SUGGEST_DELAY_MS = 150;
 }
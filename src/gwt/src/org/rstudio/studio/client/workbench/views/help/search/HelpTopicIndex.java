@@ -0,0 +1,178 @@
+/*
+ * HelpTopicIndex.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.help.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An index of help topics for answering topic suggestions locally. Topics
+ * are kept sorted by a lowercased key (with any leading '.' removed, so that
+ * e.g. 'libpaths' finds '.libPaths'), so prefix matches are a contiguous
+ * range found by binary search. Fuzzy (subsequence) matches are looked for
+ * only within the range sharing the query's first character, mirroring the
+ * server's rule that the first character must match.
+ */
+public class HelpTopicIndex
+{
+   public HelpTopicIndex(List<String> topics)
+   {
+      entries_ = new Entry[topics.size()];
+      for (int i = 0; i < entries_.length; i++)
+         entries_[i] = new Entry(topics.get(i));
+      Arrays.sort(entries_, (a, b) -> a.key.compareTo(b.key));
+   }
+
+   public int size()
+   {
+      return entries_.length;
+   }
+
+   /**
+    * @return Up to limit topics matching the query: prefix matches first
+    *    (shortest first), then subsequence matches ordered by how tightly
+    *    the query's characters are packed in the topic.
+    */
+   public List<String> suggest(String query, int limit)
+   {
+      ArrayList<String> results = new ArrayList<>();
+      String key = toKey(query);
+      if (key.isEmpty())
+      {
+         for (int i = 0; i < entries_.length && results.size() < limit; i++)
+            results.add(entries_[i].topic);
+         return results;
+      }
+
+      // prefix matches
+      int begin = lowerBound(key);
+      int end = upperBound(key);
+      ArrayList<Entry> prefixMatches = new ArrayList<>();
+      for (int i = begin; i < end; i++)
+         prefixMatches.add(entries_[i]);
+      Collections.sort(prefixMatches, (a, b) ->
+      {
+         int result = Integer.compare(a.key.length(), b.key.length());
+         return result != 0 ? result : a.key.compareTo(b.key);
+      });
+      for (int i = 0; i < prefixMatches.size() && results.size() < limit; i++)
+         results.add(prefixMatches.get(i).topic);
+
+      if (results.size() >= limit || key.length() == 1)
+         return results;
+
+      // subsequence matches among the remaining topics sharing the first
+      // character
+      String first = key.substring(0, 1);
+      ArrayList<Entry> fuzzyMatches = new ArrayList<>();
+      ArrayList<Integer> scores = new ArrayList<>();
+      for (int i = lowerBound(first), n = upperBound(first); i < n; i++)
+      {
+         if (i >= begin && i < end)
+            continue;
+         int score = subsequenceScore(entries_[i].key, key);
+         if (score < 0)
+            continue;
+         fuzzyMatches.add(entries_[i]);
+         scores.add(score);
+      }
+
+      Integer[] order = new Integer[fuzzyMatches.size()];
+      for (int i = 0; i < order.length; i++)
+         order[i] = i;
+      Arrays.sort(order, (a, b) ->
+      {
+         int result = Integer.compare(scores.get(a), scores.get(b));
+         return result != 0 ? result :
+            fuzzyMatches.get(a).key.compareTo(fuzzyMatches.get(b).key);
+      });
+      for (int i = 0; i < order.length && results.size() < limit; i++)
+         results.add(fuzzyMatches.get(order[i]).topic);
+
+      return results;
+   }
+
+   // the number of characters skipped between matched characters, or -1
+   // if the query isn't a subsequence of the key
+   private static int subsequenceScore(String key, String query)
+   {
+      int score = 0;
+      int idx = 0;
+      for (int i = 0; i < query.length(); i++)
+      {
+         int next = key.indexOf(query.charAt(i), idx);
+         if (next == -1)
+            return -1;
+         score += next - idx;
+         idx = next + 1;
+      }
+      return score;
+   }
+
+   // index of the first entry whose key is >= prefix
+   private int lowerBound(String prefix)
+   {
+      int lo = 0, hi = entries_.length;
+      while (lo < hi)
+      {
+         int mid = (lo + hi) >>> 1;
+         if (entries_[mid].key.compareTo(prefix) < 0)
+            lo = mid + 1;
+         else
+            hi = mid;
+      }
+      return lo;
+   }
+
+   // index of the first entry (at or after the lower bound) whose key does
+   // not start with prefix
+   private int upperBound(String prefix)
+   {
+      int lo = lowerBound(prefix), hi = entries_.length;
+      while (lo < hi)
+      {
+         int mid = (lo + hi) >>> 1;
+         if (entries_[mid].key.startsWith(prefix))
+            lo = mid + 1;
+         else
+            hi = mid;
+      }
+      return lo;
+   }
+
+   private static String toKey(String topic)
+   {
+      int start = 0;
+      while (start < topic.length() && topic.charAt(start) == '.')
+         start++;
+      return topic.substring(start).toLowerCase();
+   }
+
+   private static class Entry
+   {
+      public Entry(String topic)
+      {
+         this.topic = topic;
+         this.key = toKey(topic);
+      }
+
+      public final String topic;
+      public final String key;
+   }
+
+   private final Entry[] entries_;
+}
@@ -21,6 +21,7 @@ import org.rstudio.studio.client.common.compile.CompilePanel;
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.uibinder.client.UiBinder;
 import com.google.gwt.uibinder.client.UiField;
+import com.google.gwt.user.client.Command;
 import com.google.gwt.user.client.ui.Composite;
 import com.google.gwt.user.client.ui.Label;
 import com.google.gwt.user.client.ui.Widget;
@@ -35,7 +36,8 @@ public class JobOutputPanel extends Composite
 
    public JobOutputPanel()
    {
-      output_ = new CompilePanel(new CompileOutputBufferWithHighlight());
+      buffer_ = new CompileOutputBufferWithHighlight();
+      output_ = new CompilePanel(buffer_);
       output_.setHeight("100%");
 
       initWidget(uiBinder.createAndBindUi(this));
@@ -51,6 +53,24 @@ public class JobOutputPanel extends Composite
       empty_.setVisible(true);
    }
    
+   /**
+    * Lift (or restore) the cap on the number of output lines kept.
+    */
+   public void setShowAllOutput(boolean showAll)
+   {
+      buffer_.setMaxOutputLines(showAll ? 0 :
+         CompileOutputBufferWithHighlight.DEFAULT_MAX_LINES);
+   }
+
+   /**
+    * Set the command used to fetch the job's full output once older
+    * output has been dropped.
+    */
+   public void setShowAllOutputHandler(Command handler)
+   {
+      buffer_.setShowAllHandler(handler);
+   }
+   
    public void scrollToBottom()
    {
       output_.scrollToBottom();
@@ -68,6 +88,8 @@ public class JobOutputPanel extends Composite
       output_.showOutput(output, scrollToBottom);
    }
    
+   private final CompileOutputBufferWithHighlight buffer_;
+
    @UiField(provided=true) CompilePanel output_;
    @UiField Label empty_;
 }
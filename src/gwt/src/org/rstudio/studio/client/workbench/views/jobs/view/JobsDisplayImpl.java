@@ -16,6 +16,7 @@ package org.rstudio.studio.client.workbench.views.jobs.view;
 
 import com.google.gwt.core.client.JsArray;
 import com.google.inject.Inject;
+import com.google.inject.Provider;
 import org.rstudio.core.client.Debug;
 import org.rstudio.core.client.widget.SlidingLayoutPanel;
 import org.rstudio.studio.client.RStudioGinjector;
@@ -25,6 +26,7 @@ import org.rstudio.studio.client.workbench.ui.WorkbenchPane;
 import org.rstudio.studio.client.workbench.views.jobs.events.JobSelectionEvent;
 import org.rstudio.studio.client.workbench.views.jobs.model.Job;
 import org.rstudio.studio.client.workbench.views.jobs.model.JobConstants;
+import org.rstudio.studio.client.workbench.views.jobs.model.JobManager;
 import org.rstudio.studio.client.workbench.views.jobs.model.JobOutput;
 
 import java.util.List;
@@ -44,9 +46,11 @@ public class JobsDisplayImpl implements JobsDisplay
    }
    
    @Inject
-   private void initialize(EventBus events)
+   private void initialize(EventBus events,
+                           Provider<JobManager> pJobManager)
    {
       events_ = events;
+      pJobManager_ = pJobManager;
    }
    
    @Override
@@ -104,6 +108,12 @@ public class JobsDisplayImpl implements JobsDisplay
        // clear any existing output in the pane
       widgets_.getOutputPanel().clearOutput();
 
+      // a different job starts out with the usual cap on output lines; the
+      // full output is fetched again from the server if asked for
+      if (!widgets_.isCurrent(id))
+         widgets_.getOutputPanel().setShowAllOutput(false);
+      widgets_.getOutputPanel().setShowAllOutputHandler(() -> showAllJobOutput(id));
+
       // display all the output, but don't scroll as we go
       for (int i = 0; i < output.length(); i++)
       {
@@ -126,6 +136,16 @@ public class JobsDisplayImpl implements JobsDisplay
             animate, widgets_::installJobToolbar);
    }
    
+   private void showAllJobOutput(String id)
+   {
+      Job job = pJobManager_.get().getJob(id);
+      if (job == null || !widgets_.isCurrent(id))
+         return;
+
+      widgets_.getOutputPanel().setShowAllOutput(true);
+      events_.fireEvent(new JobSelectionEvent(id, job.type, true, false));
+   }
+   
    @Override
    public void addJobOutput(String id, int type, String output)
    {
@@ -223,4 +243,5 @@ public class JobsDisplayImpl implements JobsDisplay
   
    // injected
    private EventBus events_;
+   private Provider<JobManager> pJobManager_;
 }
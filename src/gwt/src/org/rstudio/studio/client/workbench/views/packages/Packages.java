@@ -88,6 +88,7 @@ import org.rstudio.studio.client.workbench.views.packages.ui.CleanUnusedDialog;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Set;
@@ -829,60 +830,67 @@ public class Packages
       view_.setPackageStatus(status);
       
       // also update the list of allPackages_
-      for (int i = 0; i<allPackages_.size(); i++)
+      Integer index = packageIndex_.get(packageKey(status.getName(), status.getLib()));
+      if (index != null)
       {
-         PackageInfo packageInfo = allPackages_.get(i);
-         if (packageInfo.getName() == status.getName() &&
-             packageInfo.getLibrary() == status.getLib())
-         {
-            allPackages_.set(i, status.isLoaded() ? packageInfo.asLoaded() :
-                                                    packageInfo.asUnloaded());
-         }
+         PackageInfo packageInfo = allPackages_.get(index);
+         allPackages_.set(index, status.isLoaded() ? packageInfo.asLoaded() :
+                                                     packageInfo.asUnloaded());
       }
    }
    
    private void setViewPackageList()
    {
-      ArrayList<PackageInfo> packages = null;
+      List<PackageInfo> packages = null;
       
       // apply filter (if any)
       if (packageFilter_.length() > 0)
       {
-         packages = new ArrayList<PackageInfo>();
-         
-         // first do prefix search
-         for (PackageInfo pkgInfo : allPackages_)
+         // a filter which extends the previous one can only match a subset
+         // of what the previous one matched, so narrow those matches
+         ArrayList<Integer> candidates = null;
+         if (filterMatches_ != null && packageFilter_.startsWith(lastFilter_))
+            candidates = filterMatches_;
+
+         ArrayList<Integer> matches = new ArrayList<Integer>();
+         int count = candidates == null ? allPackages_.size() : candidates.size();
+         for (int i = 0; i < count; i++)
          {
-            if (pkgInfo.getName().toLowerCase().startsWith(packageFilter_))
-               packages.add(pkgInfo);
-         }
-         
-         // then do contains search on name & desc
-         for (PackageInfo pkgInfo : allPackages_)
-         { 
-            if (pkgInfo.getName().toLowerCase().contains(packageFilter_) ||
-                pkgInfo.getDesc().toLowerCase().contains(packageFilter_))
+            int index = candidates == null ? i : candidates.get(i);
+            if (searchNames_[index].contains(packageFilter_) ||
+                searchDescs_[index].contains(packageFilter_))
             {
-               if (!packages.contains(pkgInfo))
-                  packages.add(pkgInfo);
+               matches.add(index);
             }
          }
+         lastFilter_ = packageFilter_;
+         filterMatches_ = matches;
 
-         // sort results by library (to preserve grouping)
-         Collections.sort(packages, new Comparator<PackageInfo>()
-               {
-                  @Override
-                  public int compare(PackageInfo o1, PackageInfo o2)
-                  {
-                     return PackageLibraryUtils.typeOfLibrary(
-                                   session_, o1.getLibrary()).compareTo(
-                             PackageLibraryUtils.typeOfLibrary(
-                                   session_, o2.getLibrary()));
-                  }
-               });
+         // matches are in library order; within each library show prefix
+         // matches on the name first, then the rest
+         packages = new ArrayList<PackageInfo>();
+         ArrayList<PackageInfo> containsMatches = new ArrayList<PackageInfo>();
+         PackageLibraryType libraryType = null;
+         for (int index : matches)
+         {
+            if (libraryTypes_[index] != libraryType)
+            {
+               packages.addAll(containsMatches);
+               containsMatches.clear();
+               libraryType = libraryTypes_[index];
+            }
+
+            if (searchNames_[index].startsWith(packageFilter_))
+               packages.add(allPackages_.get(index));
+            else
+               containsMatches.add(allPackages_.get(index));
+         }
+         packages.addAll(containsMatches);
       }
       else
       {
+         lastFilter_ = packageFilter_;
+         filterMatches_ = null;
          packages = allPackages_;
       }
       
@@ -1221,20 +1229,29 @@ public class Packages
 
    private void setPackageState(PackageState newState)
    {
-      // sort the packages
+      // determine the type of each library once, rather than per comparison
+      final HashMap<String, PackageLibraryType> libraryTypes =
+            new HashMap<String, PackageLibraryType>();
       allPackages_ = new ArrayList<PackageInfo>();
       JsArray<PackageInfo> serverPackages = newState.getPackageList();
       for (int i = 0; i < serverPackages.length(); i++)
-         allPackages_.add(serverPackages.get(i));
+      {
+         PackageInfo pkgInfo = serverPackages.get(i);
+         allPackages_.add(pkgInfo);
+         if (!libraryTypes.containsKey(pkgInfo.getLibrary()))
+         {
+            libraryTypes.put(pkgInfo.getLibrary(),
+                  PackageLibraryUtils.typeOfLibrary(session_, pkgInfo.getLibrary()));
+         }
+      }
+
+      // sort the packages
       Collections.sort(allPackages_, new Comparator<PackageInfo>() {
          public int compare(PackageInfo o1, PackageInfo o2)
          {
             // sort first by library, then by name
-            int library = 
-                  PackageLibraryUtils.typeOfLibrary(
-                        session_, o1.getLibrary()).compareTo(
-                  PackageLibraryUtils.typeOfLibrary(
-                        session_, o2.getLibrary()));
+            int library = libraryTypes.get(o1.getLibrary()).compareTo(
+                          libraryTypes.get(o2.getLibrary()));
             return library == 0 ? 
                   o1.getName().compareToIgnoreCase(o2.getName()) :
                   library;
@@ -1242,17 +1259,29 @@ public class Packages
       });
       
       // Mark  which packages are first in their respective libraries (used
-      // later to render headers)
+      // later to render headers), and index the packages for filtering and
+      // status updates
+      int count = allPackages_.size();
+      searchNames_ = new String[count];
+      searchDescs_ = new String[count];
+      libraryTypes_ = new PackageLibraryType[count];
+      packageIndex_ = new HashMap<String, Integer>();
+      filterMatches_ = null;
       PackageLibraryType libraryType = PackageLibraryType.None;
-      for (PackageInfo pkgInfo: allPackages_)
+      for (int i = 0; i < count; i++)
       {
-         PackageLibraryType pkgLibraryType = PackageLibraryUtils.typeOfLibrary(
-               session_, pkgInfo.getLibrary());
+         PackageInfo pkgInfo = allPackages_.get(i);
+         PackageLibraryType pkgLibraryType = libraryTypes.get(pkgInfo.getLibrary());
          if (pkgLibraryType != libraryType)
          {
             pkgInfo.setFirstInLibrary(true);
             libraryType = pkgLibraryType;
          }
+
+         searchNames_[i] = pkgInfo.getName().toLowerCase();
+         searchDescs_[i] = StringUtil.notNull(pkgInfo.getDesc()).toLowerCase();
+         libraryTypes_[i] = pkgLibraryType;
+         packageIndex_.put(packageKey(pkgInfo.getName(), pkgInfo.getLibrary()), i);
       }
       
       projectContext_ = newState.getProjectContext();
@@ -1260,6 +1289,11 @@ public class Packages
       setViewPackageList();
    }
    
+   private static String packageKey(String name, String library)
+   {
+      return name + "\n" + library;
+   }
+
    private void getPackageNamesFromActions(
          JsArray<PackratPackageAction> actions,
          Set<String> pkgNames)
@@ -1278,6 +1312,17 @@ public class Packages
    private ArrayList<PackageInfo> allPackages_ = new ArrayList<PackageInfo>();
    private ProjectContext projectContext_;
    private String packageFilter_ = new String();
+
+   // lowercased names and descriptions, library types, and (name, library)
+   // lookup for allPackages_, by index
+   private String[] searchNames_ = new String[0];
+   private String[] searchDescs_ = new String[0];
+   private PackageLibraryType[] libraryTypes_ = new PackageLibraryType[0];
+   private HashMap<String, Integer> packageIndex_ = new HashMap<String, Integer>();
+
+   // indices of the packages matching the last filter
+   private String lastFilter_ = "";
+   private ArrayList<Integer> filterMatches_;
    private HandlerRegistration consolePromptHandlerReg_ = null;
    private final EventBus events_;
    private final GlobalDisplay globalDisplay_;
@@ -682,7 +682,8 @@ public class Source implements InsertSourceHandler,
 
             // attempt to add a tab for the current doc; try/catch this since
             // we don't want to allow one failure to prevent all docs from
-            // opening
+            // opening. editors for clean, file-backed docs aren't built until
+            // their tab is first activated, so restoring many docs stays cheap
             EditingTarget sourceEditor = null;
             try
             {
@@ -692,11 +693,11 @@ public class Source implements InsertSourceHandler,
                    SourceWindowManager.isMainSourceWindow())
                {
                   String name = doc.getSourceDisplayName();
-                  sourceEditor = columnManager_.addTab(doc, true, OPEN_REPLAY,
-                                                       columnManager_.getByName(name));
+                  sourceEditor = columnManager_.addLazyTab(doc, OPEN_REPLAY,
+                                                           columnManager_.getByName(name));
                }
                else
-                  sourceEditor = columnManager_.addTab(doc, true, OPEN_REPLAY, null);
+                  sourceEditor = columnManager_.addLazyTab(doc, OPEN_REPLAY, null);
             }
             catch (Exception e)
             {
@@ -2637,13 +2638,13 @@ public class Source implements InsertSourceHandler,
          InputEditorDisplay editor = consoleEditorProvider_.getConsoleEditor();
          if (editor != null && editor instanceof DocDisplay)
          {
-            SourceColumnManager.getEditorContext("#console", "", (DocDisplay) editor, server_);
+            SourceColumnManager.getEditorContext("#console", "", (DocDisplay) editor, data, server_);
             return;
          }
       }
       else if (type == GetEditorContextEvent.TYPE_SOURCE_EDITOR)
       {
-         if (columnManager_.attemptTextEditorActivate())
+         if (columnManager_.attemptTextEditorActivate(data))
             return;
       }
 
@@ -39,6 +39,7 @@ import org.rstudio.studio.client.application.events.EventBus;
 import org.rstudio.studio.client.common.SimpleRequestCallback;
 import org.rstudio.studio.client.common.filetypes.EditableFileType;
 import org.rstudio.studio.client.common.filetypes.FileIcon;
+import org.rstudio.studio.client.common.filetypes.FileType;
 import org.rstudio.studio.client.common.filetypes.FileTypeRegistry;
 import org.rstudio.studio.client.common.filetypes.TextFileType;
 import org.rstudio.studio.client.common.synctex.events.SynctexStatusChangedEvent;
@@ -52,6 +53,7 @@ import org.rstudio.studio.client.workbench.model.UnsavedChangesTarget;
 import org.rstudio.studio.client.workbench.ui.unsaved.UnsavedChangesDialog;
 import org.rstudio.studio.client.workbench.views.source.editors.EditingTarget;
 import org.rstudio.studio.client.workbench.views.source.editors.EditingTargetSource;
+import org.rstudio.studio.client.workbench.views.source.editors.LazyEditingTarget;
 import org.rstudio.studio.client.workbench.views.source.editors.codebrowser.CodeBrowserEditingTarget;
 import org.rstudio.studio.client.workbench.views.source.editors.text.TextEditingTarget;
 import org.rstudio.studio.client.workbench.views.source.editors.text.events.FileTypeChangedEvent;
@@ -87,6 +89,7 @@ public class SourceColumn implements BeforeShowEvent.Handler,
                           EventBus events,
                           EditingTargetSource editingTargetSource,
                           RemoteFileSystemContext fileContext,
+                          FileTypeRegistry fileTypeRegistry,
                           SourceServerOperations sourceServerOperations)
    {
       commands_ = commands;
@@ -95,6 +98,7 @@ public class SourceColumn implements BeforeShowEvent.Handler,
       events_ = events;
       editingTargetSource_ = editingTargetSource;
       fileContext_ = fileContext;
+      fileTypeRegistry_ = fileTypeRegistry;
       server_ = sourceServerOperations;
    }
 
@@ -289,6 +293,8 @@ public class SourceColumn implements BeforeShowEvent.Handler,
 
    private void onActivate(EditingTarget target)
    {
+       target = resolveEditor(target);
+
        // return if we're already set properly
        if (activeEditor_ != null && activeEditor_ == target)
           return;
@@ -418,7 +424,7 @@ public class SourceColumn implements BeforeShowEvent.Handler,
       for (EditingTarget target : editors_)
       {
          if (StringUtil.equals(docId, target.getId()))
-            return target;
+            return resolveEditor(target);
       }
       return null;
    }
@@ -438,7 +444,7 @@ public class SourceColumn implements BeforeShowEvent.Handler,
       for (EditingTarget target : editors_)
       {
          if (StringUtil.equals(path, target.getPath()))
-            return target;
+            return resolveEditor(target);
       }
       return null;
    }
@@ -503,23 +509,7 @@ public class SourceColumn implements BeforeShowEvent.Handler,
                       true);
       fireDocTabsChanged();
 
-      target.getName().addValueChangeHandler(event -> {
-         display_.renameTab(widget,
-                            target.getIcon(),
-                            event.getValue(),
-                            target.getPath());
-         fireDocTabsChanged();
-      });
-
-      display_.setDirty(widget, target.dirtyState().getValue());
-      target.dirtyState().addValueChangeHandler(event -> {
-         display_.setDirty(widget, event.getValue());
-         manageCommands(false);
-      });
-
-      target.addEnsureVisibleHandler(event -> display_.selectTab(widget));
-
-      target.addCloseHandler(voidCloseEvent -> closeTab(widget, false));
+      attachTabHandlers(target, widget);
 
       events_.fireEvent(new SourceDocAddedEvent(doc, mode, getName()));
 
@@ -541,6 +531,98 @@ public class SourceColumn implements BeforeShowEvent.Handler,
       return target;
    }
 
+   public EditingTarget addLazyTab(SourceDocument doc, int mode)
+   {
+      FileType type = fileTypeRegistry_.getTypeByTypeName(doc.getType());
+      if (!LazyEditingTarget.canDefer(doc, type))
+         return addTab(doc, true, mode);
+
+      // add a placeholder tab; the editor itself is built by hydrate() when
+      // the tab is first activated or the target is otherwise needed
+      LazyEditingTarget target = new LazyEditingTarget(
+            doc, (TextFileType) type, this::hydrate);
+      editors_.add(target);
+
+      display_.addTab(target.asWidget(),
+                      target.getIcon(),
+                      target.getId(),
+                      target.getName().getValue(),
+                      target.getTabTooltip(),
+                      null,
+                      false);
+      fireDocTabsChanged();
+
+      events_.fireEvent(new SourceDocAddedEvent(doc, mode, getName()));
+
+      if (editors_.size() == 2)
+         manageMultiTabCommands(true);
+
+      return target;
+   }
+
+   /**
+    * @return The real editing target for the given target, building the
+    *    editor first if the target is a placeholder for a restored document.
+    */
+   public EditingTarget resolveEditor(EditingTarget target)
+   {
+      if (target instanceof LazyEditingTarget)
+         return ((LazyEditingTarget) target).hydrate();
+      return target;
+   }
+
+   private EditingTarget hydrate(LazyEditingTarget placeholder)
+   {
+      final EditingTarget target = editingTargetSource_.getEditingTarget(
+            placeholder.getDocument(),
+            fileContext_,
+            (EditingTarget et) ->
+            {
+               String prefix = et.getDefaultNamePrefix();
+               return getNextDefaultName(prefix);
+            });
+
+      // the placeholder's panel remains the tab's widget; the editor is
+      // hosted inside it
+      placeholder.attach(target);
+
+      int index = editors_.indexOf(placeholder);
+      if (index >= 0)
+      {
+         Widget widget = placeholder.asWidget();
+         editors_.set(index, target);
+         attachTabHandlers(target, widget);
+         display_.renameTab(widget,
+                            target.getIcon(),
+                            target.getName().getValue(),
+                            target.getPath());
+         display_.setDirty(widget, target.dirtyState().getValue());
+      }
+
+      return target;
+   }
+
+   private void attachTabHandlers(final EditingTarget target, final Widget widget)
+   {
+      target.getName().addValueChangeHandler(event -> {
+         display_.renameTab(widget,
+                            target.getIcon(),
+                            event.getValue(),
+                            target.getPath());
+         fireDocTabsChanged();
+      });
+
+      display_.setDirty(widget, target.dirtyState().getValue());
+      target.dirtyState().addValueChangeHandler(event -> {
+         display_.setDirty(widget, event.getValue());
+         manageCommands(false);
+      });
+
+      target.addEnsureVisibleHandler(event -> display_.selectTab(widget));
+
+      target.addCloseHandler(voidCloseEvent -> closeTab(widget, false));
+   }
+
    public void addTab(Widget widget,
                       FileIcon icon,
                       String id,
@@ -1037,7 +1119,7 @@ public class SourceColumn implements BeforeShowEvent.Handler,
 
       if (event.getSelectedItem() >= 0)
       {
-         activeEditor_ = editors_.get(event.getSelectedItem());
+         activeEditor_ = resolveEditor(editors_.get(event.getSelectedItem()));
          activeEditor_.onActivate();
          manager_.setActive(getName());
 
@@ -1218,6 +1300,7 @@ public class SourceColumn implements BeforeShowEvent.Handler,
    private HashSet<AppCommand> activeCommands_ = new HashSet<>();
 
    private RemoteFileSystemContext fileContext_;
+   private FileTypeRegistry fileTypeRegistry_;
    private SourceServerOperations server_;
    private Timer debugSelectionTimer_ = null;
    private EventBus events_;
@@ -544,6 +544,17 @@ public class SourceColumnManager implements CommandPaletteEntrySource,
       return column.addTab(doc, atEnd, mode);
    }
 
+   /**
+    * Adds a tab at the end of the column whose editor is built only when the
+    * tab is first activated (used when replaying documents from the session).
+    */
+   public EditingTarget addLazyTab(SourceDocument doc, int mode, SourceColumn column)
+   {
+      if (column == null)
+         column = activeColumn_;
+      return column.addLazyTab(doc, mode);
+   }
+
    public EditingTarget findEditor(String docId)
    {
       for (SourceColumn column : columnList_)
@@ -604,7 +615,7 @@ public class SourceColumnManager implements CommandPaletteEntrySource,
       return pWindowManager_.get().areSourceWindowsOpen();
    }
 
-   public boolean attemptTextEditorActivate()
+   public boolean attemptTextEditorActivate(GetEditorContextEvent.Data data)
    {
       if (!(hasActiveEditor() ||
             activeColumn_.getActiveEditor() instanceof TextEditingTarget))
@@ -615,7 +626,9 @@ public class SourceColumnManager implements CommandPaletteEntrySource,
          getEditorContext(
             editingTarget.getId(),
             editingTarget.getPath(),
-            editingTarget.getDocDisplay()
+            editingTarget.getDocDisplay(),
+            data,
+            server_
          );
       });
       return true;
@@ -1760,6 +1773,19 @@ public class SourceColumnManager implements CommandPaletteEntrySource,
 
    public static void getEditorContext(String id, String path, DocDisplay docDisplay,
                                        SourceServerOperations server)
+   {
+      getEditorContext(id, path, docDisplay, GetEditorContextEvent.Data.create(), server);
+   }
+
+   /**
+    * Sends the editor's context to the session. Where the session already
+    * holds the document's current revision only the revision is sent; where
+    * it holds the revision last sent from here, only the lines changed since
+    * are sent; otherwise the full contents are.
+    */
+   public static void getEditorContext(String id, String path, DocDisplay docDisplay,
+                                       GetEditorContextEvent.Data request,
+                                       SourceServerOperations server)
    {
       AceEditor editor = (AceEditor) docDisplay;
       Selection selection = editor.getNativeSelection();
@@ -1788,8 +1814,32 @@ public class SourceColumnManager implements CommandPaletteEntrySource,
       id = StringUtil.notNull(id);
       path = StringUtil.notNull(path);
 
-      GetEditorContextEvent.SelectionData data =
-         GetEditorContextEvent.SelectionData.create(id, path, editor.getCode(), docSelections);
+      String revision = editor.getRevision();
+      String serverRevision = request.getRevision(id);
+      GetEditorContextEvent.SelectionData data;
+      if (revision.equals(serverRevision))
+      {
+         data = GetEditorContextEvent.SelectionData.create(
+               id, path, revision, serverRevision, null, docSelections);
+      }
+      else
+      {
+         String code = editor.getCode();
+         SentEditorContext sent = sentEditorContexts_.get(id);
+         if (sent != null && sent.revision.equals(serverRevision))
+         {
+            data = GetEditorContextEvent.SelectionData.create(
+                  id, path, revision, serverRevision,
+                  GetEditorContextEvent.ContentsDelta.compute(sent.contents, code),
+                  docSelections);
+         }
+         else
+         {
+            data = GetEditorContextEvent.SelectionData.create(id, path, code, docSelections);
+            data.setRevision(revision);
+         }
+         sentEditorContexts_.put(id, new SentEditorContext(revision, code));
+      }
 
       server.getEditorContextCompleted(data, new VoidServerRequestCallback());
    }
@@ -2025,6 +2075,7 @@ public class SourceColumnManager implements CommandPaletteEntrySource,
             if (thisPath != null
                 && thisPath.equalsIgnoreCase(file.getPath()))
             {
+               target = column.resolveEditor(target);
                column.selectTab(target.asWidget());
                pMruList_.get().add(thisPath);
                if (resultCallback != null)
@@ -2337,6 +2388,18 @@ public class SourceColumnManager implements CommandPaletteEntrySource,
       cpsExecuteForEachEditor(editors, command, null);
    }
 
+   private static class SentEditorContext
+   {
+      public SentEditorContext(String revision, String contents)
+      {
+         this.revision = revision;
+         this.contents = contents;
+      }
+
+      public final String revision;
+      public final String contents;
+   }
+
    private static class OpenFileEntry
    {
       public OpenFileEntry(FileSystemItem fileIn, TextFileType fileTypeIn,
@@ -2381,6 +2444,19 @@ public class SourceColumnManager implements CommandPaletteEntrySource,
    private final SourceNavigationHistory sourceNavigationHistory_ =
        new SourceNavigationHistory(30);
 
+   // the contents last sent to the session for each document (the session
+   // keeps as many, so it can apply deltas against them)
+   private static final int MAX_SENT_EDITOR_CONTEXTS = 10;
+   private static final LinkedHashMap<String, SentEditorContext> sentEditorContexts_ =
+      new LinkedHashMap<String, SentEditorContext>(16, 0.75f, true)
+      {
+         @Override
+         protected boolean removeEldestEntry(Map.Entry<String, SentEditorContext> eldest)
+         {
+            return size() > MAX_SENT_EDITOR_CONTEXTS;
+         }
+      };
+
    public final static String COLUMN_PREFIX = "Source";
    public final static String MAIN_SOURCE_NAME = COLUMN_PREFIX;
 }
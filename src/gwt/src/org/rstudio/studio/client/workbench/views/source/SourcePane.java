@@ -141,7 +141,7 @@ public class SourcePane extends LazyPanel implements Display,
 
    public void selectTab(Widget child)
    {
-      tabPanel_.selectTab(child);
+      tabPanel_.selectTab(getTabContent(child));
    }
 
    @Override
@@ -156,7 +156,7 @@ public class SourcePane extends LazyPanel implements Display,
                          String value,
                          String tooltip)
    {
-      tabPanel_.replaceDocName(tabPanel_.getWidgetIndex(child),
+      tabPanel_.replaceDocName(tabPanel_.getWidgetIndex(getTabContent(child)),
                                icon,
                                value,
                                tooltip);
@@ -165,7 +165,7 @@ public class SourcePane extends LazyPanel implements Display,
    @Override
    public void setDirty(Widget widget, boolean dirty)
    {
-      Widget tab = tabPanel_.getTabWidget(widget);
+      Widget tab = tabPanel_.getTabWidget(getTabContent(widget));
       if (dirty)
          tab.addStyleName(ThemeStyles.INSTANCE.dirtyTab());
       else
@@ -184,7 +184,7 @@ public class SourcePane extends LazyPanel implements Display,
 
    public void closeTab(Widget child, boolean interactive, Command onClosed)
    {
-      closeTab(tabPanel_.getWidgetIndex(child), interactive, onClosed);
+      closeTab(tabPanel_.getWidgetIndex(getTabContent(child)), interactive, onClosed);
    }
 
    public void closeTab(int index, boolean interactive)
@@ -213,6 +213,20 @@ public class SourcePane extends LazyPanel implements Display,
                                onCancelled).showModal();
    }
 
+   // editors restored lazily are hosted inside the placeholder widget their
+   // tab was created with; resolve such editors to that placeholder
+   private Widget getTabContent(Widget child)
+   {
+      if (child != null &&
+          tabPanel_.getWidgetIndex(child) < 0 &&
+          child.getParent() != null &&
+          tabPanel_.getWidgetIndex(child.getParent()) >= 0)
+      {
+         return child.getParent();
+      }
+      return child;
+   }
+
    public void manageChevronVisibility()
    {
       int tabsWidth = tabPanel_.getTabsEffectiveWidth();
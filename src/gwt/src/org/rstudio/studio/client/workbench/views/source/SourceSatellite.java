@@ -19,6 +19,7 @@ import org.rstudio.studio.client.RStudioGinjector;
 import org.rstudio.studio.client.application.ApplicationUncaughtExceptionHandler;
 import org.rstudio.studio.client.common.satellite.Satellite;
 import org.rstudio.studio.client.common.satellite.SatelliteApplication;
+import org.rstudio.studio.client.server.remote.ClientEvent;
 import org.rstudio.studio.client.workbench.commands.Commands;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 import org.rstudio.studio.client.workbench.views.source.editors.text.themes.AceThemes;
@@ -49,5 +50,75 @@ public class SourceSatellite extends SatelliteApplication
       initialize(name_, view, satellite, pAceThemes, pUserPrefs, exHandler, commands);
    }
    
+   @Override
+   protected String[] getEventSubscriptions()
+   {
+      return new String[] {
+         // console output and input, followed by inline chunk output and the
+         // debugger
+         ClientEvent.ConsoleOutput,
+         ClientEvent.ConsoleError,
+         ClientEvent.ConsoleWriteInput,
+         ClientEvent.ConsolePrompt,
+
+         // notebook chunk execution
+         ClientEvent.ChunkOutput,
+         ClientEvent.ChunkOutputFinished,
+         ClientEvent.ChunkPlotRefreshed,
+         ClientEvent.ChunkPlotRefreshFinished,
+         ClientEvent.ChunkExecStateChanged,
+         ClientEvent.NotebookRangeExecuted,
+
+         // editing
+         ClientEvent.FileChanged,
+         ClientEvent.FileEdit,
+         ClientEvent.EditorCommand,
+         ClientEvent.SourceExtendedTypeDetected,
+         ClientEvent.SnippetsChanged,
+         ClientEvent.AvailablePackagesReady,
+         ClientEvent.RmdParamsReady,
+         ClientEvent.UpdateGutterMarkers,
+         ClientEvent.HighlightUi,
+         ClientEvent.CollabEditStarted,
+         ClientEvent.CollabEditEnded,
+         ClientEvent.CollabEditSaved,
+
+         // documents opened or closed by the session
+         ClientEvent.ShowContent,
+         ClientEvent.ShowData,
+         ClientEvent.DataViewChanged,
+         ClientEvent.ObjectExplorerEvent,
+         ClientEvent.ViewFunction,
+         ClientEvent.NewDocumentWithCode,
+         ClientEvent.RequestDocumentSave,
+         ClientEvent.RequestDocumentClose,
+
+         // profiles and apps launched from the editor
+         ClientEvent.RprofStarted,
+         ClientEvent.RprofStopped,
+         ClientEvent.RprofCreated,
+         ClientEvent.ShinyViewer,
+         ClientEvent.PlumberViewer,
+
+         // debugging
+         ClientEvent.ContextDepthChanged,
+         ClientEvent.BrowserLineChanged,
+         ClientEvent.DebugSourceCompleted,
+         ClientEvent.PackageLoaded,
+         ClientEvent.PackageUnloaded,
+         ClientEvent.ErrorHandlerChanged,
+
+         // state shown in editor toolbars and menus
+         ClientEvent.WorkingDirChanged,
+         ClientEvent.ListChanged,
+         ClientEvent.PackageStateChanged,
+         ClientEvent.SynctexEditFile,
+         ClientEvent.CompilePdfStartedEvent,
+         ClientEvent.CompilePdfCompletedEvent,
+         ClientEvent.RPubsUploadStatus,
+         ClientEvent.RSConnectDeploymentCompleted
+      };
+   }
+   
    private final String name_;
 }
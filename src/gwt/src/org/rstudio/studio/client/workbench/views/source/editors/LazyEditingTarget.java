@@ -0,0 +1,483 @@
+/*
+ * LazyEditingTarget.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.source.editors;
+
+import com.google.gwt.event.logical.shared.CloseHandler;
+import com.google.gwt.event.shared.GwtEvent;
+import com.google.gwt.event.shared.HandlerRegistration;
+import com.google.gwt.user.client.Command;
+import com.google.gwt.user.client.ui.HasValue;
+import com.google.gwt.user.client.ui.SimpleLayoutPanel;
+import com.google.gwt.user.client.ui.Widget;
+
+import org.rstudio.core.client.command.AppCommand;
+import org.rstudio.core.client.events.EnsureHeightEvent;
+import org.rstudio.core.client.events.EnsureVisibleEvent;
+import org.rstudio.core.client.files.FileSystemContext;
+import org.rstudio.core.client.files.FileSystemItem;
+import org.rstudio.studio.client.common.ReadOnlyValue;
+import org.rstudio.studio.client.common.Value;
+import org.rstudio.studio.client.common.filetypes.FileIcon;
+import org.rstudio.studio.client.common.filetypes.FileType;
+import org.rstudio.studio.client.common.filetypes.TextFileType;
+import org.rstudio.studio.client.palette.model.CommandPaletteItem;
+import org.rstudio.studio.client.workbench.views.source.editors.EditingTargetSource.EditingTargetNameProvider;
+import org.rstudio.studio.client.workbench.views.source.editors.text.ace.Position;
+import org.rstudio.studio.client.workbench.views.source.events.CollabEditStartParams;
+import org.rstudio.studio.client.workbench.views.source.model.SourceDocument;
+import org.rstudio.studio.client.workbench.views.source.model.SourcePosition;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Placeholder for a restored document whose editor has not been built yet.
+ * The tab shows the document's name and icon; the real editing target is
+ * created (and its widget attached to this placeholder's panel) the first
+ * time the tab is activated or anything beyond tab metadata is requested.
+ */
+public class LazyEditingTarget implements EditingTarget
+{
+   public interface Hydrator
+   {
+      EditingTarget hydrate(LazyEditingTarget target);
+   }
+
+   /**
+    * @return True if the document can be restored without building its
+    *    editor: a clean, file-backed text document with no collaborative
+    *    editing session and no read-only alternatives to present.
+    */
+   public static boolean canDefer(SourceDocument document, FileType type)
+   {
+      return type instanceof TextFileType &&
+             document.getPath() != null &&
+             !document.isDirty() &&
+             !document.isReadOnly() &&
+             document.getCollabParams() == null;
+   }
+
+   public LazyEditingTarget(SourceDocument document,
+                            TextFileType type,
+                            Hydrator hydrator)
+   {
+      document_ = document;
+      type_ = type;
+      hydrator_ = hydrator;
+      name_.setValue(FileSystemItem.getNameFromPath(document.getPath()));
+   }
+
+   public SourceDocument getDocument()
+   {
+      return document_;
+   }
+
+   /**
+    * Called by the hydrator once the real editing target exists; the
+    * target's widget is hosted inside this placeholder's panel so the tab
+    * keeps its identity.
+    */
+   public void attach(EditingTarget target)
+   {
+      target_ = target;
+      panel_.setWidget(target.asWidget());
+   }
+
+   public EditingTarget hydrate()
+   {
+      if (target_ == null)
+         hydrator_.hydrate(this);
+      return target_;
+   }
+
+   @Override
+   public String getId()
+   {
+      return document_.getId();
+   }
+
+   @Override
+   public HasValue<String> getName()
+   {
+      return target_ == null ? name_ : target_.getName();
+   }
+
+   @Override
+   public String getTitle()
+   {
+      return getName().getValue();
+   }
+
+   @Override
+   public String getPath()
+   {
+      return target_ == null ? document_.getPath() : target_.getPath();
+   }
+
+   @Override
+   public String getContext()
+   {
+      return null;
+   }
+
+   @Override
+   public FileIcon getIcon()
+   {
+      return target_ == null ? type_.getDefaultFileIcon() : target_.getIcon();
+   }
+
+   @Override
+   public String getTabTooltip()
+   {
+      return getPath();
+   }
+
+   @Override
+   public FileType getFileType()
+   {
+      return target_ == null ? type_ : target_.getFileType();
+   }
+
+   @Override
+   public TextFileType getTextFileType()
+   {
+      return hydrate().getTextFileType();
+   }
+
+   @Override
+   public void adaptToExtendedFileType(String extendedType)
+   {
+      hydrate().adaptToExtendedFileType(extendedType);
+   }
+
+   @Override
+   public String getExtendedFileType()
+   {
+      return target_ == null
+            ? document_.getExtendedType()
+            : target_.getExtendedFileType();
+   }
+
+   @Override
+   public HashSet<AppCommand> getSupportedCommands()
+   {
+      return hydrate().getSupportedCommands();
+   }
+
+   @Override
+   public void manageCommands()
+   {
+      hydrate().manageCommands();
+   }
+
+   @Override
+   public boolean canCompilePdf()
+   {
+      return hydrate().canCompilePdf();
+   }
+
+   @Override
+   public void verifyCppPrerequisites()
+   {
+      hydrate().verifyCppPrerequisites();
+   }
+
+   @Override
+   public void verifyPythonPrerequisites()
+   {
+      hydrate().verifyPythonPrerequisites();
+   }
+
+   @Override
+   public void verifyD3Prerequisites()
+   {
+      hydrate().verifyD3Prerequisites();
+   }
+
+   @Override
+   public void verifyNewSqlPrerequisites()
+   {
+      hydrate().verifyNewSqlPrerequisites();
+   }
+
+   @Override
+   public void focus()
+   {
+      hydrate().focus();
+   }
+
+   @Override
+   public void onActivate()
+   {
+      hydrate().onActivate();
+   }
+
+   @Override
+   public void onDeactivate()
+   {
+      if (target_ != null)
+         target_.onDeactivate();
+   }
+
+   @Override
+   public void onInitiallyLoaded()
+   {
+      hydrate().onInitiallyLoaded();
+   }
+
+   @Override
+   public void recordCurrentNavigationPosition()
+   {
+      if (target_ != null)
+         target_.recordCurrentNavigationPosition();
+   }
+
+   @Override
+   public void navigateToPosition(SourcePosition position,
+                                  boolean recordCurrent)
+   {
+      hydrate().navigateToPosition(position, recordCurrent);
+   }
+
+   @Override
+   public void navigateToPosition(SourcePosition position,
+                                  boolean recordCurrent,
+                                  boolean highlightLine)
+   {
+      hydrate().navigateToPosition(position, recordCurrent, highlightLine);
+   }
+
+   @Override
+   public void restorePosition(SourcePosition position)
+   {
+      hydrate().restorePosition(position);
+   }
+
+   @Override
+   public SourcePosition currentPosition()
+   {
+      return hydrate().currentPosition();
+   }
+
+   @Override
+   public boolean isAtSourceRow(SourcePosition position)
+   {
+      return hydrate().isAtSourceRow(position);
+   }
+
+   @Override
+   public void forceLineHighlighting()
+   {
+      hydrate().forceLineHighlighting();
+   }
+
+   @Override
+   public void setSourceOnSave(boolean sourceOnSave)
+   {
+      hydrate().setSourceOnSave(sourceOnSave);
+   }
+
+   @Override
+   public void setCursorPosition(Position position)
+   {
+      hydrate().setCursorPosition(position);
+   }
+
+   @Override
+   public void ensureCursorVisible()
+   {
+      hydrate().ensureCursorVisible();
+   }
+
+   @Override
+   public Position search(String regex)
+   {
+      return hydrate().search(regex);
+   }
+
+   @Override
+   public Position search(Position startPos, String regex)
+   {
+      return hydrate().search(startPos, regex);
+   }
+
+   @Override
+   public void highlightDebugLocation(SourcePosition startPos,
+                                      SourcePosition endPos,
+                                      boolean executing)
+   {
+      hydrate().highlightDebugLocation(startPos, endPos, executing);
+   }
+
+   @Override
+   public void endDebugHighlighting()
+   {
+      if (target_ != null)
+         target_.endDebugHighlighting();
+   }
+
+   @Override
+   public void beginCollabSession(CollabEditStartParams params)
+   {
+      hydrate().beginCollabSession(params);
+   }
+
+   @Override
+   public void endCollabSession()
+   {
+      if (target_ != null)
+         target_.endCollabSession();
+   }
+
+   @Override
+   public boolean onBeforeDismiss()
+   {
+      return target_ == null || target_.onBeforeDismiss();
+   }
+
+   @Override
+   public void onDismiss(int dismissType)
+   {
+      // an editor that was never built has nothing to tear down
+      if (target_ != null)
+         target_.onDismiss(dismissType);
+   }
+
+   @Override
+   public ReadOnlyValue<Boolean> dirtyState()
+   {
+      return target_ == null ? dirtyState_ : target_.dirtyState();
+   }
+
+   @Override
+   public boolean isSaveCommandActive()
+   {
+      return target_ != null && target_.isSaveCommandActive();
+   }
+
+   @Override
+   public void forceSaveCommandActive()
+   {
+      hydrate().forceSaveCommandActive();
+   }
+
+   @Override
+   public void save(Command onCompleted)
+   {
+      if (target_ == null)
+         onCompleted.execute();
+      else
+         target_.save(onCompleted);
+   }
+
+   @Override
+   public void saveWithPrompt(Command onCompleted, Command onCancelled)
+   {
+      if (target_ == null)
+         onCompleted.execute();
+      else
+         target_.saveWithPrompt(onCompleted, onCancelled);
+   }
+
+   @Override
+   public void revertChanges(Command onCompleted)
+   {
+      if (target_ == null)
+         onCompleted.execute();
+      else
+         target_.revertChanges(onCompleted);
+   }
+
+   @Override
+   public void initialize(SourceDocument document,
+                          FileSystemContext fileContext,
+                          FileType type,
+                          EditingTargetNameProvider defaultNameProvider)
+   {
+      assert false : "Lazy editing targets are initialized on hydration";
+   }
+
+   @Override
+   public long getFileSizeLimit()
+   {
+      return hydrate().getFileSizeLimit();
+   }
+
+   @Override
+   public long getLargeFileSize()
+   {
+      return hydrate().getLargeFileSize();
+   }
+
+   @Override
+   public String getDefaultNamePrefix()
+   {
+      return null;
+   }
+
+   @Override
+   public String getCurrentStatus()
+   {
+      return hydrate().getCurrentStatus();
+   }
+
+   @Override
+   public List<CommandPaletteItem> getCommandPaletteItems()
+   {
+      if (target_ == null)
+         return new ArrayList<>();
+      return target_.getCommandPaletteItems();
+   }
+
+   @Override
+   public Widget asWidget()
+   {
+      return panel_;
+   }
+
+   @Override
+   public HandlerRegistration addEnsureVisibleHandler(EnsureVisibleEvent.Handler handler)
+   {
+      return hydrate().addEnsureVisibleHandler(handler);
+   }
+
+   @Override
+   public HandlerRegistration addEnsureHeightHandler(EnsureHeightEvent.Handler handler)
+   {
+      return hydrate().addEnsureHeightHandler(handler);
+   }
+
+   @Override
+   public HandlerRegistration addCloseHandler(CloseHandler<Void> handler)
+   {
+      return hydrate().addCloseHandler(handler);
+   }
+
+   @Override
+   public void fireEvent(GwtEvent<?> event)
+   {
+      hydrate().fireEvent(event);
+   }
+
+   private EditingTarget target_;
+
+   private final SourceDocument document_;
+   private final TextFileType type_;
+   private final Hydrator hydrator_;
+   private final SimpleLayoutPanel panel_ = new SimpleLayoutPanel();
+   private final Value<String> name_ = new Value<>(null);
+   private final Value<Boolean> dirtyState_ = new Value<>(false);
+}
@@ -19,8 +19,6 @@ import java.util.List;
 
 import org.rstudio.core.client.Debug;
 import org.rstudio.core.client.JsVectorString;
-import org.rstudio.core.client.ListUtil;
-import org.rstudio.core.client.ListUtil.FilterPredicate;
 import org.rstudio.core.client.command.KeyboardShortcut;
 import org.rstudio.core.client.SafeHtmlUtil;
 import org.rstudio.core.client.StringUtil;
@@ -111,11 +109,6 @@ public class ObjectExplorerDataGrid
                  RowHoverEvent.Handler,
                  CellPreviewEvent.Handler<ObjectExplorerDataGrid.Data>
 {
-   private static interface Filter<T>
-   {
-      public boolean accept(T data);
-   }
-   
    public static class Data extends ObjectExplorerInspectionResult
    {
       protected Data()
@@ -169,6 +162,18 @@ public class ObjectExplorerDataGrid
          return !!this["matched"];
       }-*/;
       
+      // The (lower-cased) query term the 'matched' state
+      // was last computed for.
+      public final native String getMatchedFilter()
+      /*-{
+         return this["matched_filter"] || null;
+      }-*/;
+      
+      public final native void setMatchedFilter(String filter)
+      /*-{
+         this["matched_filter"] = filter;
+      }-*/;
+      
       // The current expansion state of this row.
       // Rows can either be expanded (children are visible),
       // or not expanded (children are hidden).
@@ -268,6 +273,13 @@ public class ObjectExplorerDataGrid
       public final void updateChildOwnership()
       {
          updateChildOwnership(getChildrenData(), this);
+         
+         Data attributes = getObjectAttributes().<Data>cast();
+         if (attributes != null)
+         {
+            attributes.setParentData(this);
+            updateChildOwnership(attributes.getChildrenData(), attributes);
+         }
       }
       
       private static final void updateChildOwnership(JsArray<Data> children,
@@ -284,6 +296,14 @@ public class ObjectExplorerDataGrid
             
             // recurse
             updateChildOwnership(child.getChildrenData(), child);
+            
+            // attributes are owned by the node they describe
+            Data attributes = child.getObjectAttributes().<Data>cast();
+            if (attributes != null)
+            {
+               attributes.setParentData(child);
+               updateChildOwnership(attributes.getChildrenData(), attributes);
+            }
          }
       }
       
@@ -1013,8 +1033,8 @@ public class ObjectExplorerDataGrid
             if (attributes != null)
                attributes.setVisible(true);
             
-            // force update of data grid
-            synchronize();
+            // update the rows below this node
+            synchronize(data, row);
             setFocusDeferred(true);
          }
       });
@@ -1047,8 +1067,8 @@ public class ObjectExplorerDataGrid
             if (attributes != null)
                attributes.setVisible(false);
             
-            // force update of data grid
-            synchronize();
+            // update the rows below this node
+            synchronize(data, row);
             setFocusDeferred(true);
          }
       });
@@ -1084,10 +1104,10 @@ public class ObjectExplorerDataGrid
       events_.fireEvent(new SendToConsoleEvent(code, language, true));
    }
    
-   private void retrieveMore(int row)
+   private void retrieveMore(final int row)
    {
       Data data = getData().get(row);
-      Data parent = data.getParentData();
+      final Data parent = data.getParentData();
       if (parent == null)
          return;
       
@@ -1102,7 +1122,7 @@ public class ObjectExplorerDataGrid
          @Override
          public void execute()
          {
-            synchronize();
+            synchronize(parent, row);
          }
       });
    }
@@ -1205,70 +1225,118 @@ public class ObjectExplorerDataGrid
       
    }
    
+   // rebuild the whole table (used when the tree, filter, or
+   // display of attributes changes)
    private void synchronize()
    {
       saveScrollPosition();
       
-      final String filter = StringUtil.notNull(filter_).trim();
+      String filter = getNormalizedFilter();
+      List<Data> data = new ArrayList<Data>();
+      flattenImpl(root_, filter, false, data);
+      
+      setData(data);
+      redraw();
+   }
+   
+   // rebuild only the rows below 'node' (used after expanding, collapsing,
+   // or retrieving more children for a node); 'row' is a hint for where
+   // the node currently lives in the table
+   private void synchronize(Data node, int row)
+   {
+      List<Data> list = getData();
+      row = indexOfData(node, row);
+      if (row == -1)
+      {
+         synchronize();
+         return;
+      }
+      
+      saveScrollPosition();
+      
+      // find the extent of the rows currently drawn for this node's subtree
+      int end = row + 1;
+      while (end < list.size() && list.get(end).hasParentData(node))
+         end++;
       
-      // only include visible data in the table
-      // TODO: we should consider how to better handle
-      // piecewise updates to the table, rather than
-      // shunting a whole new list in
-      List<Data> data = flatten(root_, new Filter<Data>()
+      // compute the replacement rows for the subtree
+      String filter = getNormalizedFilter();
+      boolean matched = false;
+      for (Data self = node; self != null; self = self.getParentData())
       {
-         @Override
-         public boolean accept(Data data)
+         if (matchesFilter(self, filter))
          {
-            // detect if this matches the current filter
-            if (!filter.isEmpty())
-            { 
-               data.setMatched(false);
-               String[] fields = {
-                     data.getDisplayName(),
-                     data.getDisplayType(),
-                     data.getDisplayDesc()
-               };
-
-               for (String field : fields)
-               {
-                  int index = field.toLowerCase().indexOf(filter.toLowerCase());
-                  if (index != -1)
-                  {
-                     data.setMatched(true);
-                     break;
-                  }
-               }
-            }
-            
-            // otherwise, check whether it's currently visible
-            return data.isVisible();
+            matched = true;
+            break;
          }
-      });
+      }
+      
+      List<Data> rows = new ArrayList<Data>();
+      flattenChildren(node, filter, matched, rows);
+      
+      // splice them into the table
+      list.subList(row + 1, end).clear();
+      list.addAll(row + 1, rows);
+      redraw();
+   }
+   
+   private int indexOfData(Data data, int hint)
+   {
+      List<Data> list = getData();
+      int n = list.size();
+      
+      // most requests come from the row the node was drawn at, or from one
+      // of its children, so search backwards from the hint first
+      for (int i = Math.min(hint, n - 1); i >= 0; i--)
+      {
+         if (list.get(i) == data)
+            return i;
+      }
+      
+      for (int i = Math.max(hint + 1, 0); i < n; i++)
+      {
+         if (list.get(i) == data)
+            return i;
+      }
+      
+      return -1;
+   }
+   
+   private String getNormalizedFilter()
+   {
+      return StringUtil.notNull(filter_).trim().toLowerCase();
+   }
+   
+   // whether the node matches the current filter; the result is cached
+   // on the node for the filter it was computed with
+   private boolean matchesFilter(Data data, String filter)
+   {
+      if (filter.isEmpty())
+         return true;
       
-      // remove entries that don't match filter
-      if (!filter.isEmpty())
+      if (!StringUtil.equals(filter, data.getMatchedFilter()))
       {
-         data = ListUtil.filter(data, new FilterPredicate<Data>()
+         boolean matched = false;
+         String[] fields = {
+               data.getDisplayName(),
+               data.getDisplayType(),
+               data.getDisplayDesc()
+         };
+
+         for (String field : fields)
          {
-            @Override
-            public boolean test(Data object)
+            if (field != null && field.toLowerCase().contains(filter))
             {
-               for (Data self = object;
-                    self != null;
-                    self = self.getParentData())
-               {
-                  if (self.isMatched())
-                     return true;
-               }
-               
-               return false;
+               matched = true;
+               break;
             }
-         });
+         }
+         
+         data.setMatched(matched);
+         data.setMatchedFilter(filter);
       }
       
-      setData(data);
-      redraw();
+      return data.isMatched();
    }
    
    @Override
@@ -1303,25 +1371,30 @@ public class ObjectExplorerDataGrid
       dataProvider_.setList(data);
    }
    
-   private final List<Data> flatten(Data data,
-                                    Filter<Data> filter) 
-   {
-      List<Data> list = new ArrayList<Data>();
-      flattenImpl(data, filter, list);
-      return list;
-   }
-   
+   // Appends the visible rows for 'data' and its subtree. Rows are
+   // only drawn when the node, or one of its parents, matches the filter.
    private final void flattenImpl(Data data,
-                                  Filter<Data> filter,
+                                  String filter,
+                                  boolean parentMatched,
                                   List<Data> output)
    {
-      // exit if we're not accepting data here
-      if (filter != null && !filter.accept(data))
+      // exit if this node isn't currently visible
+      if (!data.isVisible())
          return;
       
       // add data
-      output.add(data);
+      boolean matched = parentMatched || matchesFilter(data, filter);
+      if (matched)
+         output.add(data);
       
+      flattenChildren(data, filter, matched, output);
+   }
+   
+   private final void flattenChildren(Data data,
+                                      String filter,
+                                      boolean matched,
+                                      List<Data> output)
+   {
       // recurse through children
       JsArray<Data> children = data.getChildrenData();
       if (children == null)
@@ -1330,10 +1403,11 @@ public class ObjectExplorerDataGrid
       // only add children within the drawing limit to this list
       int n = Math.min(children.length(), data.getMaximumChildRowsShown());
       for (int i = 0; i < n; i++)
-         flattenImpl(children.get(i), filter, output);
+         flattenImpl(children.get(i), filter, matched, output);
       
       // add a dummy 'More...' element
       boolean drawMore = 
+            matched &&
             data.getExpansionState() == ExpansionState.OPEN &&
             data.isMoreAvailable();
       
@@ -1345,7 +1419,7 @@ public class ObjectExplorerDataGrid
       {
          Data attributes = data.getObjectAttributes().<Data>cast();
          if (attributes != null)
-            flattenImpl(data.getObjectAttributes().<Data>cast(), filter, output);
+            flattenImpl(attributes, filter, matched, output);
       }
    }
    
@@ -340,6 +340,7 @@ public class AceEditor implements DocDisplay,
       
       widget_.addValueChangeHandler(evt ->
       {
+         revision_++;
          if (!valueChangeSuppressed_)
          {
             ValueChangeEvent.fire(AceEditor.this, null);
@@ -1030,6 +1031,17 @@ public class AceEditor implements DocDisplay,
       return getSession().getValue();
    }
 
+   /**
+    * @return A token identifying the current contents of this editor; it
+    *    changes whenever the document changes, and is never shared with
+    *    another editor instance (including ones in other windows or
+    *    sessions)
+    */
+   public String getRevision()
+   {
+      return revisionPrefix_ + revision_;
+   }
+
    public void setCode(String code, boolean preserveCursorPosition)
    {
       // Calling setCode("", false) while the editor contains multiple lines of
@@ -2422,6 +2434,11 @@ public class AceEditor implements DocDisplay,
       widget_.getEditor().setReadOnly(readOnly);
    }
 
+   public boolean isReadOnly()
+   {
+      return widget_.getEditor().getReadOnly();
+   }
+
    public HandlerRegistration addCursorChangedHandler(final CursorChangedHandler handler)
    {
       return widget_.addCursorChangedHandler(handler);
@@ -4350,6 +4367,9 @@ public class AceEditor implements DocDisplay,
    private long lastCursorChangedTime_;
    private long lastModifiedTime_;
    private String yankedText_ = null;
+
+   private final String revisionPrefix_ = StringUtil.makeRandomId(16) + ":";
+   private int revision_ = 0;
    
    private int activeEditEventType_ = EditEvent.TYPE_NONE;
    
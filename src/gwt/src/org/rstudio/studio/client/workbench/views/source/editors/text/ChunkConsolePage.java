@@ -27,10 +27,12 @@ import com.google.gwt.user.client.ui.Widget;
 public class ChunkConsolePage extends ChunkOutputPage
                               implements ChunkOutputPresenter.Host
 {
-   public ChunkConsolePage(int ordinal, ChunkOutputSize chunkOutputSize)
+   public ChunkConsolePage(int ordinal, ChunkOutputConsole.Source source,
+         ChunkOutputSize chunkOutputSize)
    {
       super(ordinal);
       
+      source_ = source;
       chunkOutputSize_ = chunkOutputSize;
       init(new ChunkOutputStream(this));
    }
@@ -40,6 +42,7 @@ public class ChunkConsolePage extends ChunkOutputPage
    {
       super(ordinal);
 
+      source_ = stream.getConsoleSource();
       chunkOutputSize_ = chunkOutputSize;
       init(stream);
    }
@@ -62,6 +65,12 @@ public class ChunkConsolePage extends ChunkOutputPage
       scrollToBottom();
    }
    
+   @Override
+   public ChunkOutputConsole.Source getConsoleSource()
+   {
+      return source_;
+   }
+   
    @Override
    public void onSelected()
    {
@@ -115,7 +124,7 @@ public class ChunkConsolePage extends ChunkOutputPage
    private void init(ChunkOutputStream stream)
    {
       preview_ = new ChunkConsolePreview();
-      preview_.addText(stream.getAllConsoleText());
+      preview_.addText(stream.getConsolePreviewText());
       stream_ = stream;
       panel_ = new ScrollPanel();
       panel_.add(stream);
@@ -138,6 +147,7 @@ public class ChunkConsolePage extends ChunkOutputPage
    private Widget thumbnail_;
    private Widget content_;
    private ChunkConsolePreview preview_;
+   private final ChunkOutputConsole.Source source_;
    
    public final static int CONSOLE_INPUT  = 0;
    public final static int CONSOLE_OUTPUT = 1;
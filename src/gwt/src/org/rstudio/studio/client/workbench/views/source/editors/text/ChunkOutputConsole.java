@@ -0,0 +1,360 @@
+/*
+ * ChunkOutputConsole.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.source.editors.text;
+
+import java.util.ArrayDeque;
+
+import org.rstudio.core.client.AnsiCode;
+import org.rstudio.core.client.CommandWithArg;
+import org.rstudio.core.client.StringUtil;
+import org.rstudio.core.client.VirtualConsole;
+import org.rstudio.core.client.js.JsArrayEx;
+import org.rstudio.core.client.regex.Match;
+import org.rstudio.core.client.widget.PreWidget;
+import org.rstudio.studio.client.RStudioGinjector;
+import org.rstudio.studio.client.common.satellite.Satellite;
+import org.rstudio.studio.client.workbench.views.source.editors.text.themes.AceTheme;
+
+import com.google.gwt.core.client.JsArray;
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.dom.client.Document;
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.SpanElement;
+import com.google.gwt.dom.client.Style.Cursor;
+import com.google.gwt.dom.client.Style.TextDecoration;
+import com.google.gwt.dom.client.Style.Unit;
+import com.google.gwt.user.client.Command;
+
+/**
+ * Console text output for a notebook chunk. Only a bounded number of lines is
+ * rendered or retained: the first lines (head) and the last lines (tail).
+ * Lines between them are dropped, and a pager between the head and tail
+ * loads more of them from the notebook cache on demand.
+ */
+public class ChunkOutputConsole extends PreWidget
+{
+   /**
+    * Supplies a chunk's console output from the notebook cache. Lines are
+    * counted from the start of all of the console output the chunk has
+    * emitted.
+    */
+   public interface Source
+   {
+      // the number of lines of console output the chunk has emitted so far
+      int getLineCount();
+
+      // loads the given lines as (type, text) pairs; null if they can't be
+      // loaded
+      void getLines(int startLine, int lineCount,
+                    CommandWithArg<JsArray<JsArrayEx>> onLoaded);
+   }
+
+   /**
+    * @param source The source of hidden lines, or null if none
+    * @param firstLine The line of the chunk's console output at which this
+    *    console's output begins
+    * @param onRendered Invoked after rendering which may change the
+    *    console's height
+    */
+   public ChunkOutputConsole(Source source, int firstLine, Command onRendered)
+   {
+      source_ = source;
+      firstLine_ = firstLine;
+      onRendered_ = onRendered;
+
+      getElement().removeAttribute("tabIndex");
+      getElement().getStyle().setMarginTop(0, Unit.PX);
+      getElement().getStyle().setProperty("whiteSpace", "pre-wrap");
+
+      head_ = Document.get().createSpanElement();
+      pager_ = Document.get().createSpanElement();
+      pager_.getStyle().setOpacity(0.7);
+      if (source_ != null)
+      {
+         pager_.getStyle().setCursor(Cursor.POINTER);
+         pager_.getStyle().setTextDecoration(TextDecoration.UNDERLINE);
+      }
+      tail_ = Document.get().createSpanElement();
+      getElement().appendChild(head_);
+      getElement().appendChild(pager_);
+      getElement().appendChild(tail_);
+
+      headConsole_ = RStudioGinjector.INSTANCE.getVirtualConsoleFactory().create(head_);
+      tailConsole_ = RStudioGinjector.INSTANCE.getVirtualConsoleFactory().create(tail_);
+
+      boolean satellite = Satellite.isCurrentWindowSatellite();
+      headCap_ = satellite ? 7500 : 1500;
+      tailLines_ = satellite ? 2500 : 500;
+
+      addClickHandler(event ->
+      {
+         Element target = Element.as(event.getNativeEvent().getEventTarget());
+         if (pager_.isOrHasChild(target))
+            showMore();
+      });
+
+      updatePager();
+   }
+
+   public static String classOfOutput(int type)
+   {
+      if (type == ChunkConsolePage.CONSOLE_ERROR)
+         return AceTheme.getThemeErrorClass(
+               RStudioGinjector.INSTANCE.getUserState().theme().getValue().cast());
+      else if (type == ChunkConsolePage.CONSOLE_INPUT)
+        return "ace_keyword";
+      return null;
+   }
+
+   public void submit(String text, String clazz)
+   {
+      if (StringUtil.isNullOrEmpty(text))
+         return;
+      empty_ = false;
+
+      if (!headFull_)
+      {
+         int end = headEnd(text);
+         if (end > 0)
+         {
+            String head = text.substring(0, end);
+            headConsole_.submit(head, clazz);
+            headLines_ += StringUtil.countMatches(head, '\n');
+         }
+         if (headLines_ < headCap_)
+            return;
+
+         // the head is full; the tail continues from where it left off
+         headFull_ = true;
+         hiddenAnsi_ = headConsole_.getAnsiState();
+         text = text.substring(end);
+         if (text.isEmpty())
+            return;
+      }
+
+      tailEntries_.add(new Entry(text, clazz));
+      tailLineCount_ += StringUtil.countMatches(text, '\n');
+      trimTail();
+
+      // the tail follows streaming output closely, so coalesce renders
+      if (!tailPending_)
+      {
+         tailPending_ = true;
+         Scheduler.get().scheduleDeferred(() ->
+         {
+            tailPending_ = false;
+            renderTail();
+            onRendered_.execute();
+         });
+      }
+   }
+
+   public boolean isEmpty()
+   {
+      return empty_;
+   }
+
+   /**
+    * @return The start of the rendered text (without any ANSI codes or
+    *    control characters), up to the given number of lines and characters
+    */
+   public String getPreviewText(int maxLines, int maxChars)
+   {
+      String text = headConsole_.toString();
+      int end = 0;
+      for (int lines = 0; lines < maxLines && end < text.length(); lines++)
+      {
+         int idx = text.indexOf('\n', end);
+         end = idx == -1 ? text.length() : idx + 1;
+      }
+      return text.substring(0, Math.min(end, maxChars));
+   }
+
+   /**
+    * Load and render the next page of hidden lines below the head.
+    */
+   public void showMore()
+   {
+      if (source_ == null || loading_ || hiddenLines_ <= 0)
+         return;
+
+      final int count = Math.min(PAGE_LINES, hiddenLines_);
+      loading_ = true;
+      updatePager();
+      source_.getLines(firstLine_ + headLines_, count, output ->
+      {
+         loading_ = false;
+
+         // advance only past the lines which actually came back; the cache
+         // may be missing or shorter than the output we counted
+         int loaded = 0;
+         if (output != null)
+         {
+            for (int i = 0; i < output.length(); i++)
+            {
+               JsArrayEx entry = output.get(i);
+               String text = entry.getString(1);
+               headConsole_.submit(text, classOfOutput(entry.getInt(0)));
+               loaded += StringUtil.countMatches(text, '\n');
+            }
+         }
+         loaded = Math.min(loaded, hiddenLines_);
+         headLines_ += loaded;
+         hiddenLines_ -= loaded;
+         loadFailed_ = loaded < count;
+
+         updatePager();
+         onRendered_.execute();
+      });
+   }
+
+   // the offset in text at which the head reaches its cap, or the length of
+   // the text if it fits entirely
+   private int headEnd(String text)
+   {
+      int lines = headLines_;
+      int idx = 0;
+      while (lines < headCap_ && (idx = text.indexOf('\n', idx)) != -1)
+      {
+         idx++;
+         lines++;
+      }
+      return lines < headCap_ ? text.length() : idx;
+   }
+
+   // hide tail lines beyond the tail's cap
+   private void trimTail()
+   {
+      int excess = tailLineCount_ - tailLines_;
+      if (excess <= 0)
+         return;
+
+      int dropped = 0;
+      while (dropped < excess)
+      {
+         Entry entry = tailEntries_.peekFirst();
+         int lines = StringUtil.countMatches(entry.text, '\n');
+         if (dropped + lines < excess)
+         {
+            hide(entry.text);
+            tailEntries_.removeFirst();
+            dropped += lines;
+            continue;
+         }
+
+         // keep the part of this entry after the last hidden line
+         int idx = -1;
+         for (int i = dropped; i < excess; i++)
+            idx = entry.text.indexOf('\n', idx + 1);
+         hide(entry.text.substring(0, idx + 1));
+         if (idx + 1 == entry.text.length())
+            tailEntries_.removeFirst();
+         else
+            entry.text = entry.text.substring(idx + 1);
+         dropped = excess;
+      }
+
+      tailLineCount_ -= excess;
+      hiddenLines_ += excess;
+   }
+
+   // drop text from the tail, keeping the styles it sets for what follows
+   private void hide(String text)
+   {
+      for (Match match = AnsiCode.SGR_ESCAPE_PATTERN.match(text, 0);
+           match != null;
+           match = match.nextMatch())
+      {
+         if (hiddenAnsi_ == null)
+            hiddenAnsi_ = new AnsiCode();
+         hiddenAnsi_.processCode(match.getValue());
+      }
+   }
+
+   private void renderTail()
+   {
+      tailConsole_.clear();
+      tailConsole_.setAnsiState(hiddenAnsi_);
+      for (Entry entry : tailEntries_)
+         tailConsole_.submit(entry.text, entry.clazz);
+      updatePager();
+   }
+
+   private void updatePager()
+   {
+      if (hiddenLines_ <= 0)
+      {
+         pager_.setInnerText("");
+         pager_.getStyle().setProperty("display", "none");
+         return;
+      }
+
+      String lines = StringUtil.formatGeneralNumber(hiddenLines_) +
+            " more " + (hiddenLines_ == 1 ? "line" : "lines");
+      pager_.getStyle().clearProperty("display");
+      if (source_ == null)
+         pager_.setInnerText("[... " + lines + " ...]\n");
+      else if (loading_)
+         pager_.setInnerText("[... " + lines + "; loading ...]\n");
+      else if (loadFailed_)
+         pager_.setInnerText("[... " + lines + "; couldn't load, retry ...]\n");
+      else
+         pager_.setInnerText("[... " + lines + "; show more ...]\n");
+   }
+
+   private static class Entry
+   {
+      public Entry(String text, String clazz)
+      {
+         this.text = text;
+         this.clazz = clazz;
+      }
+
+      public String text;
+      public final String clazz;
+   }
+
+   private final Source source_;
+   private final int firstLine_;
+   private final Command onRendered_;
+
+   private final SpanElement head_;
+   private final SpanElement pager_;
+   private final SpanElement tail_;
+   private final VirtualConsole headConsole_;
+   private final VirtualConsole tailConsole_;
+
+   private boolean empty_ = true;
+
+   // lines rendered in the head, and the most it takes from streaming output
+   private int headLines_ = 0;
+   private final int headCap_;
+   private boolean headFull_ = false;
+
+   // lines dropped between the head and the tail, and the ANSI state they
+   // leave the tail in
+   private int hiddenLines_ = 0;
+   private AnsiCode hiddenAnsi_;
+   private boolean loading_ = false;
+   private boolean loadFailed_ = false;
+
+   // the last lines written to the console
+   private final ArrayDeque<Entry> tailEntries_ = new ArrayDeque<>();
+   private int tailLineCount_ = 0;
+   private final int tailLines_;
+   private boolean tailPending_ = false;
+
+   private static final int PAGE_LINES = 1000;
+}
@@ -345,7 +345,8 @@ public class ChunkOutputGallery extends Composite
    {
       if (console_ == null)
       {
-         console_ = new ChunkConsolePage(0, chunkOutputSize_);
+         console_ = new ChunkConsolePage(0, host_.getConsoleSource(),
+               chunkOutputSize_);
          addPage(console_);
       }
    }
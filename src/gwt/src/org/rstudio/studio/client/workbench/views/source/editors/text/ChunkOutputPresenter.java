@@ -30,6 +30,9 @@ public interface ChunkOutputPresenter extends IsWidget, EditorThemeListener
    public interface Host
    {
       void notifyHeightChanged();
+      
+      // the source of console output which isn't retained in the client
+      ChunkOutputConsole.Source getConsoleSource();
    }
 
    // show real-time console output; invoked only interactively 
@@ -20,14 +20,11 @@ import java.util.List;
 import java.util.Map;
 
 import org.rstudio.core.client.StringUtil;
-import org.rstudio.core.client.VirtualConsole;
 import org.rstudio.core.client.js.JsArrayEx;
 import org.rstudio.core.client.widget.FixedRatioWidget;
-import org.rstudio.core.client.widget.PreWidget;
 import org.rstudio.studio.client.RStudioGinjector;
 import org.rstudio.studio.client.common.debugging.model.UnhandledError;
 import org.rstudio.studio.client.common.debugging.ui.ConsoleError;
-import org.rstudio.studio.client.common.satellite.Satellite;
 import org.rstudio.studio.client.rmarkdown.model.NotebookFrameMetadata;
 import org.rstudio.studio.client.rmarkdown.model.NotebookHtmlMetadata;
 import org.rstudio.studio.client.rmarkdown.model.NotebookPlotMetadata;
@@ -102,10 +99,8 @@ public class ChunkOutputStream extends FlowPanel
    {
       initializeOutput(RmdChunkOutputUnit.TYPE_TEXT);
       
-      // track number of newlines in output
-      int newlineCount = 0;
-      int maxCount = Satellite.isCurrentWindowSatellite() ? 10000 : 2000;
-      
+      // the console renders only the head and tail of very long output, so
+      // all of it can be handed over
       for (int i = 0; i < output.length(); i++)
       {
          // the first element is the output, and the second is the text; if we
@@ -129,23 +124,12 @@ public class ChunkOutputStream extends FlowPanel
             // release any queued errors
             if (!queuedError_.isEmpty())
             {
-               vconsole_.submit(queuedError_, classOfOutput(
+               console_.submit(queuedError_, classOfOutput(
                      ChunkConsolePage.CONSOLE_ERROR));
                queuedError_ = "";
             }
 
-            vconsole_.submit(outputText, classOfOutput(outputType));
-         }
-         
-         // avoid hanging the IDE by displaying too much output
-         // https://github.com/rstudio/rstudio/issues/5518
-         newlineCount += StringUtil.countMatches(outputText, '\n');
-         if (newlineCount >= maxCount)
-         {
-            vconsole_.submit(
-                  "\n[Output truncated]",
-                  classOfOutput(ChunkConsolePage.CONSOLE_ERROR));
-            break;
+            console_.submit(outputText, classOfOutput(outputType));
          }
       }
    }
@@ -373,8 +357,7 @@ public class ChunkOutputStream extends FlowPanel
    public void clearOutput()
    {
       clear();
-      if (vconsole_ != null)
-         vconsole_.clear();
+      console_ = null;
       lastOutputType_ = RmdChunkOutputUnit.TYPE_NONE;
    }
 
@@ -577,7 +560,7 @@ public class ChunkOutputStream extends FlowPanel
       for (Widget w: this)
       {
          // ignore consoles with no content
-         if (w instanceof PreWidget && w.getElement().getChildCount() == 0)
+         if (w instanceof ChunkOutputConsole && ((ChunkOutputConsole)w).isEmpty())
             continue;
          
          // ignore ordinals
@@ -596,27 +579,38 @@ public class ChunkOutputStream extends FlowPanel
       return 0;
    }
    
-   public String getAllConsoleText()
+   /**
+    * Gets the rendered console text at the start of the stream, up to as
+    * much as a preview can show.
+    */
+   public String getConsolePreviewText()
    {
-      String text = "";
+      StringBuilder text = new StringBuilder();
+      int lines = 0;
       for (Widget w: this)
       {
-         if (w instanceof PreWidget)
-            text += w.getElement().getInnerText();
+         if (!(w instanceof ChunkOutputConsole))
+            continue;
+         if (lines >= PREVIEW_LINES || text.length() >= PREVIEW_CHARS)
+            break;
+         String preview = ((ChunkOutputConsole)w).getPreviewText(
+               PREVIEW_LINES - lines, PREVIEW_CHARS - text.length());
+         lines += StringUtil.countMatches(preview, '\n');
+         text.append(preview);
       }
-      return text;
+      return text.toString();
+   }
+
+   public ChunkOutputConsole.Source getConsoleSource()
+   {
+      return host_.getConsoleSource();
    }
    
    // Private methods ---------------------------------------------------------
    
    private String classOfOutput(int type)
    {
-      if (type == ChunkConsolePage.CONSOLE_ERROR)
-         return AceTheme.getThemeErrorClass(
-               RStudioGinjector.INSTANCE.getUserState().theme().getValue().cast());
-      else if (type == ChunkConsolePage.CONSOLE_INPUT)
-        return "ace_keyword";
-      return null;
+      return ChunkOutputConsole.classOfOutput(type);
    }
    
    private void flushQueuedErrors()
@@ -652,9 +646,7 @@ public class ChunkOutputStream extends FlowPanel
       }
       else if (lastOutputType_ == RmdChunkOutputUnit.TYPE_TEXT)
       {
-         // if switching from textual input, clear the text accumulator
-         if (vconsole_ != null)
-            vconsole_.clear();
+         // if switching from textual input, start a new console next time
          console_ = null;
       }
       lastOutputType_ = outputType;
@@ -662,21 +654,12 @@ public class ChunkOutputStream extends FlowPanel
 
    private void initConsole()
    {
-      if (console_ == null)
-      {
-         console_ = new PreWidget();
-         console_.getElement().removeAttribute("tabIndex");
-         console_.getElement().getStyle().setMarginTop(0, Unit.PX);
-         console_.getElement().getStyle().setProperty("whiteSpace", "pre-wrap");
-      }
-      else
-      {
-         console_.getElement().setInnerHTML("");
-      }
-      if (vconsole_ == null)
-         vconsole_ = RStudioGinjector.INSTANCE.getVirtualConsoleFactory().create(console_.getElement());
-      else
-         vconsole_.clear();
+      // the console's output begins with any errors still queued, which the
+      // chunk has already emitted
+      ChunkOutputConsole.Source source = host_.getConsoleSource();
+      int firstLine = source == null ? 0 :
+         source.getLineCount() - StringUtil.countMatches(queuedError_, '\n');
+      console_ = new ChunkOutputConsole(source, firstLine, this::onHeightChanged);
 
       // attach the console
       addWithOrdinal(console_, maxOrdinal_ + 1);
@@ -685,7 +668,7 @@ public class ChunkOutputStream extends FlowPanel
    private void renderConsoleOutput(String text, String clazz)
    {
       initializeOutput(RmdChunkOutputUnit.TYPE_TEXT);
-      vconsole_.submit(text, clazz);
+      console_.submit(text, clazz);
       onHeightChanged();
    }
    
@@ -715,9 +698,8 @@ public class ChunkOutputStream extends FlowPanel
    private final ChunkOutputPresenter.Host host_;
    private final Map<Integer, JavaScriptObject> metadata_;
    
-   private PreWidget console_;
+   private ChunkOutputConsole console_;
    private String queuedError_ = "";
-   private VirtualConsole vconsole_;
    private int lastOutputType_ = RmdChunkOutputUnit.TYPE_NONE;
    private boolean hasErrors_ = false;
    private ChunkOutputSize chunkOutputSize_;
@@ -725,6 +707,10 @@ public class ChunkOutputStream extends FlowPanel
 
    private final static String ORDINAL_ATTRIBUTE = "data-ordinal";
 
+   // more than a console preview thumbnail can show
+   private final static int PREVIEW_LINES = 50;
+   private final static int PREVIEW_CHARS = 5000;
+
    private Command afterRender_;
    private Colors themeColors_;
 }
@@ -21,9 +21,11 @@ import java.util.List;
 import org.rstudio.core.client.ClassIds;
 import org.rstudio.core.client.ColorUtil;
 import org.rstudio.core.client.CommandWithArg;
+import org.rstudio.core.client.Debug;
 import org.rstudio.core.client.Size;
 import org.rstudio.core.client.StringUtil;
 import org.rstudio.core.client.dom.DomUtils;
+import org.rstudio.core.client.js.JsArrayEx;
 import org.rstudio.core.client.widget.ProgressSpinner;
 import org.rstudio.studio.client.RStudioGinjector;
 import org.rstudio.studio.client.application.events.EventBus;
@@ -38,6 +40,7 @@ import org.rstudio.studio.client.rmarkdown.model.RmdChunkOptions;
 import org.rstudio.studio.client.rmarkdown.model.RmdChunkOutput;
 import org.rstudio.studio.client.rmarkdown.model.RmdChunkOutputUnit;
 import org.rstudio.studio.client.server.ServerError;
+import org.rstudio.studio.client.server.ServerRequestCallback;
 import org.rstudio.studio.client.workbench.views.console.events.ConsoleWriteErrorEvent;
 import org.rstudio.studio.client.workbench.views.console.events.ConsoleWriteOutputEvent;
 import org.rstudio.studio.client.workbench.views.source.editors.text.rmd.ChunkOutputHost;
@@ -314,6 +317,12 @@ public class ChunkOutputWidget extends Composite
       syncHeight(true, false);
    }
    
+   @Override
+   public ChunkOutputConsole.Source getConsoleSource()
+   {
+      return consoleSource_;
+   }
+   
    public void syncHeight(final boolean scrollToBottom, 
                           final boolean ensureVisible)
    {
@@ -400,6 +409,7 @@ public class ChunkOutputWidget extends Composite
          // if executing the whole chunk but no output was received, clean up
          // any prior output and hide the output
          presenter_.clearOutput();
+         consoleLines_ = 0;
          renderedHeight_ = 0;
          setVisible(false);
          host_.onOutputHeightChanged(this, 0, ensureVisible);
@@ -431,6 +441,7 @@ public class ChunkOutputWidget extends Composite
       if (state_ == CHUNK_READY)
       {
          presenter_.clearOutput();
+         consoleLines_ = 0;
          attachPresenter(new ChunkOutputStream(this, chunkOutputSize_));
       }
 
@@ -538,6 +549,7 @@ public class ChunkOutputWidget extends Composite
 
       initializeOutput(RmdChunkOutputUnit.TYPE_TEXT);
       presenter_.showConsoleText(event.getOutput());
+      consoleLines_ += StringUtil.countMatches(event.getOutput(), '\n');
    }
    
    @Override
@@ -548,6 +560,7 @@ public class ChunkOutputWidget extends Composite
       
       initializeOutput(RmdChunkOutputUnit.TYPE_TEXT);
       presenter_.showConsoleError(event.getError());
+      consoleLines_ += StringUtil.countMatches(event.getError(), '\n');
    }
    
    @Override
@@ -609,6 +622,11 @@ public class ChunkOutputWidget extends Composite
       {
       case RmdChunkOutputUnit.TYPE_TEXT:
          presenter_.showConsoleOutput(unit.getArray());
+         for (int i = 0; i < unit.getArray().length(); i++)
+         {
+            consoleLines_ += StringUtil.countMatches(
+                  unit.getArray().get(i).getString(1), '\n');
+         }
          break;
       case RmdChunkOutputUnit.TYPE_HTML:
          final RenderTimer widgetTimer = new RenderTimer();
@@ -952,6 +970,42 @@ public class ChunkOutputWidget extends Composite
    private boolean hideSatellitePopup_ = false;
    private String classId_;
    
+   // lines of console output received since the output was last cleared,
+   // which the notebook cache holds in full
+   private int consoleLines_ = 0;
+   private final ChunkOutputConsole.Source consoleSource_ =
+         new ChunkOutputConsole.Source()
+   {
+      @Override
+      public int getLineCount()
+      {
+         return consoleLines_;
+      }
+
+      @Override
+      public void getLines(int startLine, int lineCount,
+                           CommandWithArg<JsArray<JsArrayEx>> onLoaded)
+      {
+         RStudioGinjector.INSTANCE.getServer().getChunkConsoleOutput(
+               documentId_, chunkId_, startLine, lineCount,
+               new ServerRequestCallback<JsArray<JsArrayEx>>()
+               {
+                  @Override
+                  public void onResponseReceived(JsArray<JsArrayEx> output)
+                  {
+                     onLoaded.execute(output);
+                  }
+
+                  @Override
+                  public void onError(ServerError error)
+                  {
+                     Debug.logError(error);
+                     onLoaded.execute(null);
+                  }
+               });
+      }
+   };
+   
    private Timer collapseTimer_ = null;
    private final String documentId_;
    private final String chunkId_;
@@ -19,6 +19,7 @@ import org.rstudio.studio.client.RStudioGinjector;
 import org.rstudio.studio.client.application.ApplicationUncaughtExceptionHandler;
 import org.rstudio.studio.client.common.satellite.Satellite;
 import org.rstudio.studio.client.common.satellite.SatelliteApplication;
+import org.rstudio.studio.client.server.remote.ClientEvent;
 import org.rstudio.studio.client.workbench.commands.Commands;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 import org.rstudio.studio.client.workbench.views.source.editors.text.themes.AceThemes;
@@ -47,5 +48,19 @@ public class ChunkSatellite extends SatelliteApplication
       initialize(name_, view, satellite, pAceThemes, pUserPrefs, exHandler, commands);
    }
    
+   @Override
+   protected String[] getEventSubscriptions()
+   {
+      // console output is written to the chunk while its code is executing
+      return new String[] {
+         ClientEvent.ChunkOutput,
+         ClientEvent.ChunkOutputFinished,
+         ClientEvent.ChunkPlotRefreshed,
+         ClientEvent.ChunkPlotRefreshFinished,
+         ClientEvent.ConsoleOutput,
+         ClientEvent.ConsoleError
+      };
+   }
+   
    private final String name_;
 }
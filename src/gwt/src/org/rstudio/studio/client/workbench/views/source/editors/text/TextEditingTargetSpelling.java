@@ -16,6 +16,7 @@
 package org.rstudio.studio.client.workbench.views.source.editors.text;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 
 import com.google.gwt.core.client.JsArray;
@@ -38,6 +39,7 @@ import org.rstudio.studio.client.server.Void;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 import org.rstudio.studio.client.workbench.views.output.lint.LintManager;
 import org.rstudio.studio.client.workbench.views.output.lint.model.LintItem;
+import org.rstudio.studio.client.workbench.views.source.editors.text.ace.EditSession;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.Position;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.Range;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.spelling.TokenPredicate;
@@ -90,42 +92,69 @@ public class TextEditingTargetSpelling implements TypoSpellChecker.Context
       // only spell check comments in code files
       TokenPredicate tokenPredicate = fileType.getSpellCheckTokenPredicate();
 
-      // only get tokens for the visible screen
-      Iterable<Range> wordSource = docDisplay_.getWords(
-         tokenPredicate,
-         docDisplay_.getFileType().getCharPredicate(),
-         Position.create(docDisplay_.getFirstVisibleRow(), 0),
-         Position.create(docDisplay_.getLastVisibleRow(), docDisplay_.getLength(docDisplay_.getLastVisibleRow())));
-
-      final ArrayList<Range> wordRanges = new ArrayList<>();
+      // only get tokens for the visible screen; rows whose text and starting
+      // tokenizer state are unchanged since the last pass reuse their result
+      EditSession session = ((AceEditor) docDisplay_).getSession();
+      int generation = typoSpellChecker_.getGeneration();
+      int maxWords = prefs_.maxSpellcheckWords().getValue();
+      int wordCount = 0;
       ArrayList<String> prefetchWords = new ArrayList<>();
+      HashMap<Integer, RowLint> rowLint = new HashMap<>();
 
-      for (Range r : wordSource)
+      for (int row = docDisplay_.getFirstVisibleRow();
+           row <= docDisplay_.getLastVisibleRow() && wordCount <= maxWords;
+           row++)
       {
-         if (!typoSpellChecker_.shouldCheckSpelling(docDisplay_, r))
-            continue;
-
-         wordRanges.add(r);
+         String line = docDisplay_.getLine(row);
+         String state = row > 0 ? session.getStateString(row - 1) : "";
+         RowLint result = rowLint_.get(row);
+         if (result == null || !result.isValid(line, state, generation))
+         {
+            result = new RowLint(line, state, generation);
+            Iterable<Range> wordSource = docDisplay_.getWords(
+               tokenPredicate,
+               fileType.getCharPredicate(),
+               Position.create(row, 0),
+               Position.create(row, line.length()));
+
+            for (Range r : wordSource)
+            {
+               if (!typoSpellChecker_.shouldCheckSpelling(docDisplay_, r))
+                  continue;
+
+               result.wordCount++;
+               String word = docDisplay_.getTextForRange(r);
+               if (!typoSpellChecker_.checkSpelling(word))
+               {
+                  result.words.add(word);
+                  result.columns.add(r.getStart().getColumn());
+                  result.columns.add(r.getEnd().getColumn());
+               }
+            }
+         }
+         rowLint.put(row, result);
 
          // only check a certain number of words at once to not overwhelm the system
-         if (wordRanges.size() > prefs_.maxSpellcheckWords().getValue())
-            break;
+         wordCount += result.wordCount;
 
-         String word = docDisplay_.getTextForRange(r);
-         if (!typoSpellChecker_.checkSpelling(word)) {
+         for (int i = 0; i < result.words.size(); i++)
+         {
             if (prefetchWords.size() < prefs_.maxSpellcheckPrefetch().getValue())
-               prefetchWords.add(word);
+               prefetchWords.add(result.words.get(i));
 
             lint.push(LintItem.create(
-               r.getStart().getRow(),
-               r.getStart().getColumn(),
-               r.getEnd().getRow(),
-               r.getEnd().getColumn(),
+               row,
+               result.columns.get(2 * i),
+               row,
+               result.columns.get(2 * i + 1),
                "Spellcheck",
                "spelling"));
          }
       }
 
+      // keep results only for the rows currently visible
+      rowLint_ = rowLint;
+
       if (prefetchWords.size() > 0)
          typoSpellChecker_.prefetchWords(prefetchWords);
 
@@ -166,6 +195,7 @@ public class TextEditingTargetSpelling implements TypoSpellChecker.Context
    @Override
    public void invalidateAllWords()
    {
+      rowLint_.clear();
       invalidateMisspelledWords();
       lintManager_.relintAfterDelay(LintManager.DEFAULT_LINT_DELAY);
    }
@@ -179,6 +209,7 @@ public class TextEditingTargetSpelling implements TypoSpellChecker.Context
    @Override
    public void invalidateWord(String word)
    {
+      rowLint_.clear();
       docDisplay_.removeMarkersAtWord(word);
    }
 
@@ -348,6 +379,33 @@ public class TextEditingTargetSpelling implements TypoSpellChecker.Context
       releaseOnDismiss_.add(handler);      
    }
 
+   // spelling lint for a single row, valid while the row's text, the
+   // tokenizer state it starts in, and the spell checker's generation match
+   private static class RowLint
+   {
+      public RowLint(String line, String state, int generation)
+      {
+         line_ = line;
+         state_ = state;
+         generation_ = generation;
+      }
+
+      public boolean isValid(String line, String state, int generation)
+      {
+         return generation == generation_ &&
+                line.equals(line_) &&
+                state.equals(state_);
+      }
+
+      public int wordCount = 0;
+      public final ArrayList<String> words = new ArrayList<>();
+      public final ArrayList<Integer> columns = new ArrayList<>();
+
+      private final String line_;
+      private final String state_;
+      private final int generation_;
+   }
+
    private boolean isSpellChecking_;
 
    private final static String IGNORED_WORDS = "ignored_words";
@@ -359,6 +417,8 @@ public class TextEditingTargetSpelling implements TypoSpellChecker.Context
    private final UserPrefs prefs_;
    private final TypoSpellChecker typoSpellChecker_;
  
+   private HashMap<Integer, RowLint> rowLint_ = new HashMap<>();
+
    private ArrayList<HandlerRegistration> releaseOnDismiss_ = 
                                     new ArrayList<HandlerRegistration>();
 }
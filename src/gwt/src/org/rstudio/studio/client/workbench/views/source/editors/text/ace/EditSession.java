@@ -31,6 +31,13 @@ public class EditSession extends JavaScriptObject
    public native final String getState(int row) /*-{
       return this.getState(row);
    }-*/;
+
+   // the tokenizer state at the end of the given row as a string (the state
+   // for nested modes is an array)
+   public native final String getStateString(int row) /*-{
+      var state = this.getState(row);
+      return state == null ? "" : String(state);
+   }-*/;
    
    public native final String getTabString() /*-{
       return this.getTabString();
@@ -147,6 +154,16 @@ public class EditSession extends JavaScriptObject
       return this.getUndoManager();
    }-*/;
 
+   public native final void markUndoGroup() /*-{
+      this.markUndoGroup();
+   }-*/;
+
+   // when true, the next change is added to the most recent undo group
+   // rather than starting a new one
+   public native final void setMergeUndoDeltas(boolean merge) /*-{
+      this.mergeUndoDeltas = merge;
+   }-*/;
+
    public native final Document getDocument() /*-{
       return this.getDocument();
    }-*/;
@@ -14,6 +14,8 @@
  */
 package org.rstudio.studio.client.workbench.views.source.editors.text.findreplace;
 
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.RepeatingCommand;
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
 import com.google.gwt.event.dom.client.HasClickHandlers;
@@ -21,6 +23,7 @@ import com.google.gwt.event.dom.client.KeyUpEvent;
 import com.google.gwt.event.dom.client.KeyUpHandler;
 import com.google.gwt.event.logical.shared.ValueChangeEvent;
 import com.google.gwt.event.logical.shared.ValueChangeHandler;
+import com.google.gwt.event.shared.HandlerRegistration;
 import com.google.gwt.user.client.ui.HasValue;
 import com.google.gwt.user.client.ui.Widget;
 
@@ -30,12 +33,16 @@ import org.rstudio.core.client.regex.Match;
 import org.rstudio.core.client.regex.Pattern;
 import org.rstudio.core.client.regex.Pattern.ReplaceOperation;
 import org.rstudio.studio.client.common.GlobalDisplay;
+import org.rstudio.studio.client.common.GlobalProgressDelayer;
 import org.rstudio.studio.client.workbench.views.source.editors.text.AceEditor;
 import org.rstudio.studio.client.workbench.views.source.editors.text.DocDisplay.AnchoredSelection;
+import org.rstudio.studio.client.workbench.views.source.editors.text.ace.EditSession;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.Position;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.Range;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.Search;
 
+import java.util.ArrayList;
+
 // TODO: For regex mode, stop using Ace's search code and do our own, in order
 //    to avoid bugs with context directives (lookahead/lookbehind, ^, $)
 
@@ -325,6 +332,10 @@ public class FindReplace
 
    private void replace()
    {
+      // the document mustn't change under a Replace All in progress
+      if (replacing_)
+         return;
+
       String searchString = display_.getFindValue().getValue();
       if (searchString.length() == 0)
          return;
@@ -366,15 +377,24 @@ public class FindReplace
 
    private void replaceAll()
    {
-      String code = null; 
+      if (replacing_)
+         return;
+
+      // NOTE: the edits are computed against the text as it is now, and
+      // applied from last to first so that each edit leaves the positions
+      // of the edits still to be applied unchanged
+      String code = null;
+      Position origin = null;
       if (targetSelection_ != null)
       {
          Range range = targetSelection_.getRange();
          code = editor_.getCode(range.getStart(), range.getEnd());
+         origin = range.getStart();
       }
       else
       {
          code = editor_.getCode();
+         origin = Position.create(0, 0);
       }
 
       boolean regex = display_.getRegex().getValue();
@@ -382,59 +402,155 @@ public class FindReplace
       String repl = display_.getReplaceValue().getValue();
 
       int occurrences = 0;
+      ArrayList<ReplaceEdit> edits = new ArrayList<ReplaceEdit>();
       if (find.length() > 0)
       {
          Pattern pattern = createPattern();
-         StringBuilder result = new StringBuilder();
+         PositionMapper mapper = new PositionMapper(code, origin);
 
-         int pos = 0; // pointer into original string
          for (Match m = pattern.match(code, 0);
               m != null;
               m = m.nextMatch())
          {
             occurrences++;
 
-            // Add everything between the end of the last match, and this one
-            int index = m.getIndex();
-            result.append(code, pos, index);
-
-            // Add the replacement value
-            if (regex)
-               result.append(substitute(m, repl, code));
-            else
-               result.append(repl);
+            String value = m.getValue();
+            String replacement = regex ? substitute(m, repl, code) : repl;
+            if (!replacement.equals(value))
+            {
+               int index = m.getIndex();
+               Range range = Range.fromPoints(
+                     mapper.toPosition(index),
+                     mapper.toPosition(index + value.length()));
+               edits.add(new ReplaceEdit(range, replacement));
+            }
 
-            // Point to the end of this match
-            pos = index + m.getValue().length();
-            
             // If the data matched is an empty string (which can happen for
             // regexps that don't consume characters such as ^ or $), then we
             // didn't advance the state of the underlying RegExp object, and
             // we'll loop forever (see case 4191). Bail out.
-            if (m.getValue().length() == 0)
+            if (value.length() == 0)
             {
                break;
             }
          }
-         result.append(code, pos, code.length());
+      }
 
-         String newCode = result.toString();
-         
-         // either replace all or replace just the target range
-         if (targetSelection_ != null)
+      applyEdits(edits, occurrences, targetSelection_ == null ? null : origin);
+   }
+
+   private void applyEdits(final ArrayList<ReplaceEdit> edits,
+                           final int occurrences,
+                           final Position targetStart)
+   {
+      final EditSession session = editor_.getSession();
+      final TargetSelectionTracker target = targetSelection_;
+
+      // all of the edits form a single undo group
+      session.markUndoGroup();
+
+      if (edits.size() <= REPLACE_BATCH_SIZE)
+      {
+         for (int i = edits.size() - 1; i >= 0; i--)
+            session.replace(edits.get(i).range, edits.get(i).text);
+         onReplaceAllCompleted(occurrences, target, targetStart);
+         return;
+      }
+
+      // apply large numbers of edits in batches, so the UI stays responsive;
+      // the document is read only meanwhile, and further replacements are
+      // ignored, so that it can't change under the edits still to be applied
+      replacing_ = true;
+      final boolean readOnly = editor_.isReadOnly();
+      editor_.setReadOnly(true);
+      final GlobalProgressDelayer progress = new GlobalProgressDelayer(
+            globalDisplay_, 500, "Replacing...");
+
+      // the document can still be changed from elsewhere (e.g. by the R
+      // session); the remaining edits would then be stale, so stop
+      documentChanged_ = false;
+      final HandlerRegistration changeReg = editor_.addDocumentChangedHandler(
+            event ->
+            {
+               if (!applyingEdits_)
+                  documentChanged_ = true;
+            });
+
+      Scheduler.get().scheduleIncremental(new RepeatingCommand()
+      {
+         @Override
+         public boolean execute()
          {
-            // restore and then replace the selection
-            editor_.setSelectionRange(targetSelection_.getRange());
-            editor_.replaceSelection(newCode, false);
-            
-            // reset the target selection
-            resetTargetSelection();
+            if (documentChanged_)
+            {
+               finish();
+               if (target != null && target == targetSelection_)
+                  target.syncMarker();
+               globalDisplay_.showMessage(GlobalDisplay.MSG_WARNING,
+                     errorCaption_,
+                     "Replace All was stopped because the document was " +
+                     "changed elsewhere. " + (edits.size() - next_) + " of " +
+                     edits.size() + " replacements were made.");
+               return false;
+            }
+
+            // Ace starts a new undo group after each event loop turn; add
+            // this batch to the group started by the first
+            session.setMergeUndoDeltas(next_ < edits.size());
+
+            int stop = Math.max(0, next_ - REPLACE_BATCH_SIZE);
+            applyingEdits_ = true;
+            try
+            {
+               for (int i = next_ - 1; i >= stop; i--)
+                  session.replace(edits.get(i).range, edits.get(i).text);
+            }
+            finally
+            {
+               applyingEdits_ = false;
+            }
+            next_ = stop;
+
+            if (next_ > 0)
+            {
+               progress.setMessage("Replacing... (" +
+                                   (edits.size() - next_) + " of " +
+                                   edits.size() + ")");
+               return true;
+            }
+
+            finish();
+            onReplaceAllCompleted(occurrences, target, targetStart);
+            return false;
          }
-         else
+
+         private void finish()
          {
-            editor_.replaceCode(newCode);
-         }      
+            changeReg.removeHandler();
+            editor_.setReadOnly(readOnly);
+            progress.dismiss();
+            replacing_ = false;
+         }
+
+         private int next_ = edits.size();
+      });
+   }
+
+   private void onReplaceAllCompleted(int occurrences,
+                                      TargetSelectionTracker target,
+                                      Position targetStart)
+   {
+      // the end of the target selection is anchored, so it has followed the
+      // edits; its start anchor may have been pushed past a replacement made
+      // right at the start, but nothing before the start was edited, so
+      // rebuild the selection from where it started
+      if (target != null && target == targetSelection_ && targetStart != null)
+      {
+         Position targetEnd = target.getRange().getEnd();
+         target.clear();
+         targetSelection_ = new TargetSelectionTracker(targetStart, targetEnd);
       }
+
       globalDisplay_.showMessage(GlobalDisplay.MSG_INFO,
                                  errorCaption_,
                                  occurrences + " occurrences replaced.");
@@ -510,11 +626,60 @@ public class FindReplace
       });
    }
 
+   private static class ReplaceEdit
+   {
+      public ReplaceEdit(Range range, String text)
+      {
+         this.range = range;
+         this.text = text;
+      }
+
+      public final Range range;
+      public final String text;
+   }
+
+   // maps increasing indices into text taken from the document at origin to
+   // positions in the document
+   private static class PositionMapper
+   {
+      public PositionMapper(String text, Position origin)
+      {
+         text_ = text;
+         origin_ = origin;
+         row_ = origin.getRow();
+         nextNewline_ = text.indexOf('\n');
+      }
+
+      public Position toPosition(int index)
+      {
+         while (nextNewline_ != -1 && nextNewline_ < index)
+         {
+            row_++;
+            rowStart_ = nextNewline_ + 1;
+            nextNewline_ = text_.indexOf('\n', rowStart_);
+         }
+
+         int column = index - rowStart_;
+         if (row_ == origin_.getRow())
+            column += origin_.getColumn();
+         return Position.create(row_, column);
+      }
+
+      private final String text_;
+      private final Position origin_;
+      private int row_;
+      private int rowStart_ = 0;
+      private int nextNewline_;
+   }
+
    private final AceEditor editor_;
    private final Display display_;
    private final GlobalDisplay globalDisplay_;
    private final String errorCaption_;
    private boolean defaultForward_ = true;
+   private boolean replacing_ = false;
+   private boolean applyingEdits_ = false;
+   private boolean documentChanged_ = false;
    private Position incrementalSearchPosition_ = null;
    
    private class TargetSelectionTracker
@@ -537,6 +702,16 @@ public class FindReplace
          syncMarker();
       }
       
+      // track the given range, leaving the editor's selection as it is
+      public TargetSelectionTracker(Position start, Position end)
+      {
+         anchoredSelection_ = editor_.createAnchoredSelection(
+               display_.getUnderlyingWidget(),
+               start,
+               end);
+         syncMarker();
+      }
+
       public Range getRange()
       {
          return anchoredSelection_.getRange();
@@ -580,6 +755,8 @@ public class FindReplace
       targetSelection_ = new TargetSelectionTracker();
    }
    
+   private static final int REPLACE_BATCH_SIZE = 2000;
+
    private static boolean defaultCaseSensitive_ = false;
    private static boolean defaultWrapSearch_ = true;
    private static boolean defaultRegex_ = false;
@@ -47,7 +47,10 @@ import org.rstudio.studio.client.workbench.model.ChangeTracker;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 import org.rstudio.studio.client.workbench.views.source.editors.text.DocDisplay;
 import org.rstudio.studio.client.workbench.views.source.editors.text.Fold;
+import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceDocumentChangeEventNative;
+import org.rstudio.studio.client.workbench.views.source.editors.text.ace.Range;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.VimMarks;
+import org.rstudio.studio.client.workbench.views.source.editors.text.events.DocumentChangedEvent;
 import org.rstudio.studio.client.workbench.views.source.editors.text.events.FoldChangeEvent;
 import org.rstudio.studio.client.workbench.views.source.editors.text.events.SourceOnSaveChangedEvent;
 import org.rstudio.studio.client.workbench.views.source.editors.text.rmd.ChunkDefinition;
@@ -82,6 +85,10 @@ public class DocUpdateSentinel
          docDisplay_.setCode(sourceDoc_.getContents(), true);
          dirtyState_.markClean();
 
+         // the editor may normalize the new contents, so the next save
+         // needs to diff the full document
+         trackedContents_ = null;
+
          if (progress_ != null)
             progress_.onCompleted();
          
@@ -161,6 +168,7 @@ public class DocUpdateSentinel
 
       docDisplay_.addValueChangeHandler(this);
       docDisplay_.addFoldChangeHandler(this);
+      docDisplay_.addDocumentChangedHandler(this::onDocumentChanged);
 
       // Web only
       if (!Desktop.isDesktop())
@@ -280,6 +288,91 @@ public class DocUpdateSentinel
       }
    }
 
+   private void onDocumentChanged(DocumentChangedEvent event)
+   {
+      if (trackedContents_ == null)
+         return;
+
+      // rows above the first edited row, and below the last edited row, are
+      // unchanged relative to the tracked contents
+      AceDocumentChangeEventNative change = event.getEvent();
+      int startRow = change.start.getRow();
+      int endRow = change.getAction() == "insert" ? change.end.getRow() : startRow;
+      int rowCount = docDisplay_.getRowCount();
+
+      editStartRow_ = Math.min(editStartRow_, startRow);
+      editTailRows_ = Math.min(editTailRows_, Math.max(0, rowCount - 1 - endRow));
+   }
+
+   private void resetEditTracking(String contents)
+   {
+      trackedContents_ = contents;
+      editStartRow_ = Integer.MAX_VALUE;
+      editTailRows_ = Integer.MAX_VALUE;
+   }
+
+   /**
+    * Computes the span of the given (previously saved) contents that has been
+    * edited since it was saved, along with the current text for that span.
+    * Returns null if edits haven't been tracked against these contents, in
+    * which case the caller needs to diff the whole document.
+    */
+   private TrackedEdit getTrackedEdit(String oldContents)
+   {
+      // the contents may have been replaced (e.g. by a reload or a failed
+      // save), in which case our tracked rows aren't meaningful
+      if (trackedContents_ == null || trackedContents_ != oldContents)
+         return null;
+
+      if (editStartRow_ == Integer.MAX_VALUE)
+         return new TrackedEdit(0, 0, "");
+
+      int newRows = docDisplay_.getRowCount();
+      int oldRows = 1;
+      for (int idx = oldContents.indexOf('\n');
+           idx != -1;
+           idx = oldContents.indexOf('\n', idx + 1))
+      {
+         oldRows++;
+      }
+
+      int head = Math.min(editStartRow_, Math.min(oldRows, newRows) - 1);
+      int tail = Math.min(editTailRows_, Math.min(oldRows, newRows) - 1 - head);
+
+      // character offsets of the edited rows in the old contents
+      int start = 0;
+      for (int i = 0; i < head; i++)
+         start = oldContents.indexOf('\n', start) + 1;
+
+      int end = oldContents.length();
+      for (int i = 0; i < tail; i++)
+         end = oldContents.lastIndexOf('\n', end - 1);
+      if (tail > 0)
+         end++;
+
+      // the corresponding text in the editor
+      int lastRow = newRows - 1 - tail;
+      Range range = tail > 0 ?
+            Range.create(head, 0, lastRow + 1, 0) :
+            Range.create(head, 0, lastRow, docDisplay_.getLength(lastRow));
+
+      return new TrackedEdit(start, end, docDisplay_.getTextForRange(range));
+   }
+
+   private static class TrackedEdit
+   {
+      public TrackedEdit(int start, int end, String replacement)
+      {
+         this.start = start;
+         this.end = end;
+         this.replacement = replacement;
+      }
+
+      public final int start;
+      public final int end;
+      public final String replacement;
+   }
+
    public void changeFileType(String fileType, final ProgressIndicator progress)
    {
       saveWithSuspendedAutoSave(null, fileType, null, progress);
@@ -402,7 +495,6 @@ public class DocUpdateSentinel
          actually sent to the server. */
       final ChangeTracker thisChangeTracker = changeTracker_.fork();
 
-      final String newContents = docDisplay_.getCode();
       String oldContents = sourceDoc_.getContents();
       final String hash = sourceDoc_.getHash();
 
@@ -413,7 +505,35 @@ public class DocUpdateSentinel
       JsArray<ChunkDefinition> oldChunkDefs = 
             sourceDoc_.getNotebookDoc().getChunkDefs();
       
-      SubstringDiff diff = new SubstringDiff(oldContents, newContents);
+      // If we've been tracking edits since the contents last sent to the
+      // server, read back only the edited rows; otherwise fall back to
+      // diffing the full document.
+      final String newContents;
+      SubstringDiff diff;
+      TrackedEdit edit = getTrackedEdit(oldContents);
+      if (edit != null)
+      {
+         if (edit.replacement == oldContents.substring(edit.start, edit.end))
+         {
+            newContents = oldContents;
+            diff = new SubstringDiff(oldContents, 0, 0, "");
+         }
+         else
+         {
+            newContents = oldContents.substring(0, edit.start) +
+                          edit.replacement +
+                          oldContents.substring(edit.end);
+            diff = new SubstringDiff(oldContents, edit.start, edit.end, edit.replacement);
+         }
+      }
+      else
+      {
+         newContents = docDisplay_.getCode();
+         diff = new SubstringDiff(oldContents, newContents);
+      }
+
+      // subsequent edits are tracked relative to the contents we're saving
+      resetEditTracking(newContents);
 
       // Don't auto-save when there are no changes. In addition to being
       // wasteful, it causes the server to think the document is dirty.
@@ -852,6 +972,13 @@ public class DocUpdateSentinel
       }
    }
    
+   // edit tracking: the contents most recently sent to the server, and the
+   // rows edited since (as the first edited row, and the number of trailing
+   // rows left untouched)
+   private String trackedContents_ = null;
+   private int editStartRow_ = Integer.MAX_VALUE;
+   private int editTailRows_ = Integer.MAX_VALUE;
+
    private int suspendDetectChanges_ = 0;
    private boolean changesPending_ = false;
    private final ChangeTracker changeTracker_;
@@ -271,6 +271,7 @@ public class TerminalSession extends XTermWidget
       restartSequenceWritten_ = false;
       setNotReloading();
       deferredOutput_.clear();
+      bufferFetch_ = null;
    }
 
    @Override
@@ -539,6 +540,7 @@ public class TerminalSession extends XTermWidget
     */
    public void clearBuffer()
    {
+      socket_.flushOutput();
       clear();
 
       // talk directly to the server so it will wake up if suspended and
@@ -571,6 +573,7 @@ public class TerminalSession extends XTermWidget
 
    protected void writeError(String msg)
    {
+      socket_.flushOutput();
       writeln(AnsiCode.ForeColor.RED + "Error: " + msg + AnsiCode.DEFAULTCOLORS);
    }
 
@@ -728,6 +731,7 @@ public class TerminalSession extends XTermWidget
    public void reloadBuffer()
    {
       deferredOutput_.clear();
+      bufferFetch_ = null;
       if (newTerminal_)
       {
          setNotReloading();
@@ -736,7 +740,7 @@ public class TerminalSession extends XTermWidget
       else
       {
          setReloading();
-         fetchNextChunk(0);
+         fetchBuffer();
       }
    }
 
@@ -770,7 +774,7 @@ public class TerminalSession extends XTermWidget
       }
    }
 
-   private void fetchNextChunk(final int chunkToFetch)
+   private void fetchBuffer()
    {
       if (!shellSupportsReload())
       {
@@ -783,46 +787,120 @@ public class TerminalSession extends XTermWidget
          onResize();
          if (consoleProcess_ != null)
          {
-            consoleProcess_.getTerminalBufferChunk(chunkToFetch,
-                  new ServerRequestCallback<ProcessBufferChunk>()
+            bufferFetch_ = new BufferFetch(consoleProcess_);
+            bufferFetch_.start();
+         }
+      });
+   }
+
+   /**
+    * Fetches the saved terminal buffer in chunks. Once chunk zero tells us
+    * how many chunks there are, up to MAX_IN_FLIGHT requests are kept
+    * outstanding; chunks are reassembled in order and written to the
+    * terminal in a single batch.
+    */
+   private class BufferFetch
+   {
+      BufferFetch(ConsoleProcess process)
+      {
+         process_ = process;
+      }
+
+      void start()
+      {
+         request(0);
+      }
+
+      private void request(final int chunkToFetch)
+      {
+         inFlight_++;
+         process_.getTerminalBufferChunk(chunkToFetch,
+               new ServerRequestCallback<ProcessBufferChunk>()
+         {
+            @Override
+            public void onResponseReceived(ProcessBufferChunk chunk)
             {
-               @Override
-               public void onResponseReceived(final ProcessBufferChunk chunk)
-               {
-                  accept(chunk.getChunk());
-                  if (chunk.getMoreAvailable())
-                  {
-                     fetchNextChunk(chunk.getChunkNumber() + 1);
-                  }
-                  else
-                  {
-                     writeRestartSequence();
-                     if (procInfo_.getZombie())
-                        showZombieMessage();
-                     setNotReloading();
-                     for (String outputStr : deferredOutput_)
-                     {
-                        socket_.dispatchOutput(outputStr, doLocalEcho());
-                     }
-                     deferredOutput_.clear();
-                  }
-               }
+               inFlight_--;
+               if (bufferFetch_ == BufferFetch.this)
+                  onChunk(chunk);
+            }
 
-               @Override
-               public void onError(ServerError error)
-               {
-                  Debug.logError(error);
-                  writeError(error.getUserMessage());
-                  setNotReloading();
-                  deferredOutput_.clear();
-               }
-            });
+            @Override
+            public void onError(ServerError error)
+            {
+               inFlight_--;
+               if (bufferFetch_ != BufferFetch.this)
+                  return;
+
+               bufferFetch_ = null;
+               Debug.logError(error);
+               writeError(error.getUserMessage());
+               setNotReloading();
+               deferredOutput_.clear();
+            }
+         });
+      }
+
+      private void onChunk(ProcessBufferChunk chunk)
+      {
+         int chunkNumber = chunk.getChunkNumber();
+         chunkCount_ = Math.max(chunkCount_, chunk.getChunkCount());
+
+         // the buffer may have grown since the count was taken
+         if (chunk.getMoreAvailable())
+            chunkCount_ = Math.max(chunkCount_, chunkNumber + 2);
+
+         while (chunks_.size() <= chunkNumber)
+            chunks_.add(null);
+         chunks_.set(chunkNumber, chunk.getChunk());
+         received_++;
+
+         if (received_ >= chunkCount_ && inFlight_ == 0)
+         {
+            finish();
+            return;
          }
-      });
+
+         while (inFlight_ < MAX_IN_FLIGHT && nextChunk_ < chunkCount_)
+            request(nextChunk_++);
+      }
+
+      private void finish()
+      {
+         bufferFetch_ = null;
+
+         StringBuilder buffer = new StringBuilder();
+         for (String chunk : chunks_)
+         {
+            if (chunk != null)
+               buffer.append(chunk);
+         }
+         accept(buffer.toString());
+
+         writeRestartSequence();
+         if (procInfo_.getZombie())
+            showZombieMessage();
+         setNotReloading();
+         for (String outputStr : deferredOutput_)
+         {
+            socket_.dispatchOutput(outputStr, doLocalEcho());
+         }
+         deferredOutput_.clear();
+      }
+
+      private final ConsoleProcess process_;
+      private final ArrayList<String> chunks_ = new ArrayList<>();
+      private int chunkCount_ = 1;
+      private int nextChunk_ = 1;
+      private int received_;
+      private int inFlight_;
+
+      private static final int MAX_IN_FLIGHT = 4;
    }
 
    public void showZombieMessage()
    {
+      socket_.flushOutput();
       writeln("[Process completed]");
       accept("[Exit code: ");
       if (procInfo_.getExitCode() != null)
@@ -849,6 +927,7 @@ public class TerminalSession extends XTermWidget
          final String sequence = AnsiCode.CSI + AnsiCode.CHA + AnsiCode.CSI + AnsiCode.EL;
 
          // immediately clear line locally
+         socket_.flushOutput();
          accept(sequence);
 
          // ask server to delete last line of saved buffer to prevent
@@ -950,6 +1029,7 @@ public class TerminalSession extends XTermWidget
    private boolean reloading_;
    private boolean haveLoadedBuffer_;
    private final ArrayList<String> deferredOutput_ = new ArrayList<>();
+   private BufferFetch bufferFetch_;
    private boolean restartSequenceWritten_;
    private final StringBuilder inputQueue_ = new StringBuilder();
    private int inputSequence_ = ShellInput.IGNORE_SEQUENCE;
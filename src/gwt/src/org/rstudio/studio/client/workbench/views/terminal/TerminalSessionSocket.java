@@ -15,6 +15,7 @@
 
 package org.rstudio.studio.client.workbench.views.terminal;
 
+import com.google.gwt.animation.client.AnimationScheduler;
 import com.google.gwt.user.client.Timer;
 import org.rstudio.core.client.Debug;
 import org.rstudio.core.client.HandlerRegistrations;
@@ -324,11 +325,58 @@ public class TerminalSessionSocket
    }
 
    /**
-    * Send output to the terminal emulator.
+    * Send output to the terminal emulator. Output arriving before the next
+    * animation frame is merged and written to the emulator in one piece.
     * @param output text to send to the terminal
     * @param detectLocalEcho local-echo detection
     */
    public void dispatchOutput(String output, boolean detectLocalEcho)
+   {
+      pendingOutput_.append(output);
+      pendingDetectLocalEcho_ = detectLocalEcho;
+      updateOutputPaused();
+
+      if (outputFrame_ == null)
+      {
+         outputFrame_ = AnimationScheduler.get().requestAnimationFrame(timestamp ->
+         {
+            outputFrame_ = null;
+            flushOutput();
+         });
+      }
+   }
+
+   /**
+    * Immediately write any output still waiting for the next animation
+    * frame; used before writing directly to the terminal emulator so
+    * ordering is preserved.
+    */
+   public void flushOutput()
+   {
+      if (outputFrame_ != null)
+      {
+         outputFrame_.cancel();
+         outputFrame_ = null;
+      }
+
+      if (pendingOutput_.length() == 0)
+         return;
+
+      String output = pendingOutput_.toString();
+      pendingOutput_.setLength(0);
+      writeOutput(output, pendingDetectLocalEcho_);
+
+      // track how much the emulator has yet to parse
+      final int length = output.length();
+      unparsedOutput_ += length;
+      xterm_.onWriteParsed(() ->
+      {
+         unparsedOutput_ -= length;
+         updateOutputPaused();
+      });
+   }
+
+   private void writeOutput(String output, boolean detectLocalEcho)
    {
       if (detectLocalEcho && PASSWORD_PATTERN.test(output))
       {
@@ -351,6 +399,33 @@ public class TerminalSessionSocket
       localEcho_.write(output);
    }
 
+   /**
+    * Ask the server to hold back output while the client backlog (output
+    * waiting for a frame plus output the emulator has not parsed yet) is
+    * above the high-water mark, and to resume once it has drained.
+    */
+   private void updateOutputPaused()
+   {
+      int backlog = pendingOutput_.length() + unparsedOutput_;
+      if (!outputPaused_ && backlog > OUTPUT_BACKLOG_HIGH_WATER)
+         sendFlowControl(true);
+      else if (outputPaused_ && backlog < OUTPUT_BACKLOG_LOW_WATER)
+         sendFlowControl(false);
+   }
+
+   private void sendFlowControl(boolean pause)
+   {
+      outputPaused_ = pause;
+
+      // only the websocket channel supports flow control; RPC output is
+      // already trimmed by the server
+      if (socket_ != null && consoleProcess_ != null &&
+          consoleProcess_.getChannelMode() == ConsoleProcessInfo.CHANNEL_WEBSOCKET)
+      {
+         socket_.send(TerminalSocketPacket.flowControlPacket(pause));
+      }
+   }
+
    @Override
    public void onTerminalDataInput(TerminalDataInputEvent event)
    {
@@ -381,6 +456,8 @@ public class TerminalSessionSocket
    public void disconnect(boolean permanent)
    {
       diagnostic_.log(permanent ? "Permanently Disconnected" : "Disconnected");
+      flushOutput();
+      outputPaused_ = false;
       if (socket_ != null)
          socket_.close();
       socket_ = null;
@@ -427,6 +504,15 @@ public class TerminalSessionSocket
    private final TerminalLocalEcho localEcho_;
    private final TerminalDiagnostics diagnostic_ = new TerminalDiagnostics();
 
+   // output coalescing and flow control
+   private final StringBuilder pendingOutput_ = new StringBuilder();
+   private boolean pendingDetectLocalEcho_;
+   private AnimationScheduler.AnimationHandle outputFrame_;
+   private int unparsedOutput_;
+   private boolean outputPaused_;
+   private static final int OUTPUT_BACKLOG_HIGH_WATER = 1024 * 1024;
+   private static final int OUTPUT_BACKLOG_LOW_WATER = 128 * 1024;
+
    // RegEx to match common password prompts
    private static final String PASSWORD_REGEX = "(?:password:)|(?:passphrase:)";
 
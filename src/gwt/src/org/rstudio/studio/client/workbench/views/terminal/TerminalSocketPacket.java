@@ -25,8 +25,10 @@ import org.rstudio.core.client.StringUtil;
  * First character is a method indicator, as follows:
  *    "a" = send text, e.g. "aHello"
  *    "b" = ping/pong, e.g. "b"
+ *    "c" = output flow control, "c1" to pause, "c0" to resume
  *
- * Only the "send text" method has a payload (everything after the "a").
+ * Only the "send text" and "flow control" methods have a payload (everything
+ * after the method indicator).
  *
  * See SessionConsoleProcessSocketPacket in session code for C++ side of this sophisticated
  * wire format.
@@ -43,6 +45,11 @@ public class TerminalSocketPacket
       return keepAlivePrefix;
    }
 
+   public static String flowControlPacket(boolean pause)
+   {
+      return flowControlPrefix + (pause ? "1" : "0");
+   }
+
    public static boolean isKeepAlive(String text)
    {
       return StringUtil.equals(text, keepAlivePrefix);
@@ -59,4 +66,5 @@ public class TerminalSocketPacket
 
    private static final String keepAlivePrefix = "b";
    private static final String textPrefix = "a";
+   private static final String flowControlPrefix = "c";
 }
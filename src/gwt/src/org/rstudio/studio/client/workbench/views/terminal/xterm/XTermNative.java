@@ -19,6 +19,7 @@ import org.rstudio.core.client.CommandWithArg;
 
 import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.dom.client.Element;
+import com.google.gwt.user.client.Command;
 
 /**
  * <code>JavaScriptObject</code> wrapper for xterm.js
@@ -64,6 +65,17 @@ public class XTermNative extends JavaScriptObject
       this.write(data);
    }-*/;
 
+   /**
+    * Invoke a command once all previously written data has been parsed.
+    * @param command Command to invoke
+    */
+   public final native void onWriteParsed(Command command) /*-{
+      this.write("",
+         $entry(function() {
+            command.@com.google.gwt.user.client.Command::execute()();
+         }));
+   }-*/;
+
    /**
     * Compute and return available dimensions for terminal.
     * @return Visible number of columns and rows
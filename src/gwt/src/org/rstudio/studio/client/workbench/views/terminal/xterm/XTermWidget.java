@@ -145,6 +145,16 @@ public class XTermWidget extends Widget
       terminal_.write(str);
    }
 
+   /**
+    * Invoke a command once the terminal has processed everything written
+    * to it so far.
+    * @param command Command to invoke
+    */
+   public void onWriteParsed(Command command)
+   {
+      terminal_.onWriteParsed(command);
+   }
+
    /**
     * Clear terminal buffer.
     */
@@ -0,0 +1,165 @@
+/*
+ * DiffChunkPatcher.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.vcs.common.diff;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+
+/**
+ * Updates a parsed diff to reflect some of its lines having been applied
+ * (staged, unstaged or discarded), so the diff can be redisplayed without
+ * being fetched and parsed again.
+ */
+public class DiffChunkPatcher
+{
+   /**
+    * @param chunks The displayed diff
+    * @param applied The lines of the diff which were applied
+    * @param insertionsBecomeContext True if applied insertions become
+    *    unchanged lines and applied deletions disappear (e.g. staging lines
+    *    shown in the working tree diff); false for the reverse (unstaging,
+    *    discarding)
+    * @return The updated diff, or null if it can't be computed locally
+    */
+   public static ArrayList<DiffChunk> apply(ArrayList<DiffChunk> chunks,
+                                            Collection<Line> applied,
+                                            boolean insertionsBecomeContext)
+   {
+      HashSet<Integer> appliedIndices = new HashSet<Integer>();
+      for (Line line : applied)
+         appliedIndices.add(line.getDiffIndex());
+
+      ArrayList<DiffChunk> result = new ArrayList<DiffChunk>();
+      int oldShift = 0;
+      int newShift = 0;
+      for (DiffChunk chunk : chunks)
+      {
+         Range[] ranges = chunk.getRanges();
+         if (ranges == null || ranges.length != 2)
+            return null;
+
+         // as in UnifiedParser, each line records the last line number
+         // reached on each side
+         int oldStart = ranges[0].startRow + oldShift;
+         int newStart = ranges[1].startRow + newShift;
+         int oldLine = oldStart - 1;
+         int newLine = newStart - 1;
+         boolean hasChanges = false;
+
+         ArrayList<Line> lines = new ArrayList<Line>();
+         for (Line line : chunk.getLines())
+         {
+            Line.Type type = line.getType();
+            if (appliedIndices.contains(line.getDiffIndex()))
+            {
+               if (type == Line.Type.Insertion)
+                  type = insertionsBecomeContext ? Line.Type.Same : null;
+               else if (type == Line.Type.Deletion)
+                  type = insertionsBecomeContext ? null : Line.Type.Same;
+            }
+
+            // the line no longer differs between the two sides
+            if (type == null)
+               continue;
+
+            boolean[] appliesTo;
+            switch (type)
+            {
+               case Same:
+                  oldLine++;
+                  newLine++;
+                  appliesTo = new boolean[] { true, true };
+                  break;
+               case Deletion:
+                  oldLine++;
+                  hasChanges = true;
+                  appliesTo = new boolean[] { true, false };
+                  break;
+               case Insertion:
+                  newLine++;
+                  hasChanges = true;
+                  appliesTo = new boolean[] { false, true };
+                  break;
+               default:
+                  appliesTo = new boolean[] { false, false };
+                  break;
+            }
+
+            lines.add(new Line(type,
+                               appliesTo,
+                               new int[] { oldLine, newLine },
+                               line.getText(),
+                               line.getDiffIndex()));
+         }
+
+         int oldCount = oldLine - oldStart + 1;
+         int newCount = newLine - newStart + 1;
+         oldShift += oldCount - ranges[0].rowCount;
+         newShift += newCount - ranges[1].rowCount;
+
+         if (hasChanges)
+         {
+            result.add(new DiffChunk(
+                  new Range[] { new Range(oldStart, oldCount),
+                                new Range(newStart, newCount) },
+                  chunk.getLineText(),
+                  lines,
+                  chunk.getDiffIndex()));
+         }
+      }
+      return result;
+   }
+
+   /**
+    * @return True if the two diffs have the same chunks and lines (including
+    *    line numbers)
+    */
+   public static boolean isSameDiff(ArrayList<DiffChunk> a,
+                                    ArrayList<DiffChunk> b)
+   {
+      if (a.size() != b.size())
+         return false;
+
+      for (int i = 0; i < a.size(); i++)
+      {
+         DiffChunk chunkA = a.get(i);
+         DiffChunk chunkB = b.get(i);
+         if (!UnifiedEmitter.createChunkString(chunkA).equals(
+               UnifiedEmitter.createChunkString(chunkB)))
+         {
+            return false;
+         }
+
+         ArrayList<Line> linesA = chunkA.getLines();
+         ArrayList<Line> linesB = chunkB.getLines();
+         if (linesA.size() != linesB.size())
+            return false;
+         for (int j = 0; j < linesA.size(); j++)
+         {
+            Line lineA = linesA.get(j);
+            Line lineB = linesB.get(j);
+            if (lineA.getType() != lineB.getType() ||
+                lineA.getOldLine() != lineB.getOldLine() ||
+                lineA.getNewLine() != lineB.getNewLine() ||
+                !lineA.getText().equals(lineB.getText()))
+            {
+               return false;
+            }
+         }
+      }
+      return true;
+   }
+}
@@ -63,8 +63,11 @@ public class Line implements Comparable<Line>
    {
       type_ = type;
       lines_ = new int[] {oldLine, newLine};
-      appliesTo_ = new boolean[]{ true };
-      text_ = text;
+      appliesTo_ = 1;
+      appliesToCount_ = 1;
+      source_ = text;
+      textStart_ = 0;
+      textEnd_ = text.length();
       diffIndex_ = diffIndex;
    }
 
@@ -73,16 +76,42 @@ public class Line implements Comparable<Line>
                int[] lines,
                String text,
                int diffIndex)
+   {
+      this(type, appliesTo, lines, text, 0, text.length(), diffIndex);
+   }
+
+   /**
+    * Creates a line whose text is the range [textStart, textEnd) of source
+    * (typically the whole diff), so parsing a diff needn't copy out the text
+    * of every line.
+    */
+   public Line(Type type,
+               boolean[] appliesTo,
+               int[] lines,
+               String source,
+               int textStart,
+               int textEnd,
+               int diffIndex)
    {
       if (lines.length < 2)
          throw new IllegalArgumentException("Too few lines");
       if (appliesTo.length != lines.length)
          throw new IllegalArgumentException("appliesTo had unexpected length");
 
+      int mask = 0;
+      for (int i = 0; i < appliesTo.length; i++)
+      {
+         if (appliesTo[i])
+            mask |= 1 << i;
+      }
+
       type_ = type;
-      appliesTo_ = appliesTo;
+      appliesTo_ = mask;
+      appliesToCount_ = appliesTo.length;
       lines_ = lines;
-      text_ = text;
+      source_ = source;
+      textStart_ = textStart;
+      textEnd_ = textEnd;
       diffIndex_ = diffIndex;
    }
 
@@ -103,7 +132,9 @@ public class Line implements Comparable<Line>
 
    public String getText()
    {
-      return text_;
+      if (textStart_ == 0 && textEnd_ == source_.length())
+         return source_;
+      return source_.substring(textStart_, textEnd_);
    }
 
    public int getDiffIndex()
@@ -113,13 +144,13 @@ public class Line implements Comparable<Line>
 
    public Line reverse()
    {
-      if (appliesTo_.length > 2)
+      if (appliesToCount_ > 2)
          throw new UnsupportedOperationException("Can't reverse combined diff");
 
       return new Line(type_.getInverse(),
                       lines_[1],
                       lines_[0],
-                      text_,
+                      getText(),
                       diffIndex_);
    }
 
@@ -156,12 +187,24 @@ public class Line implements Comparable<Line>
 
    public boolean[] getAppliesTo()
    {
-      return appliesTo_;
+      boolean[] appliesTo = new boolean[appliesToCount_];
+      for (int i = 0; i < appliesToCount_; i++)
+         appliesTo[i] = appliesTo(i);
+      return appliesTo;
+   }
+
+   public boolean appliesTo(int index)
+   {
+      return (appliesTo_ & (1 << index)) != 0;
    }
 
    private final Type type_;
    private final int[] lines_;
-   private final boolean[] appliesTo_;
-   private final String text_;
+   // bit i is set if the line applies to file i
+   private final int appliesTo_;
+   private final int appliesToCount_;
+   private final String source_;
+   private final int textStart_;
+   private final int textEnd_;
    private final int diffIndex_;
 }
@@ -21,12 +21,15 @@ import com.google.gwt.dom.client.Element;
 import com.google.gwt.dom.client.NativeEvent;
 import com.google.gwt.dom.client.Node;
 import com.google.gwt.dom.client.Style.Unit;
+import com.google.gwt.event.dom.client.ScrollEvent;
+import com.google.gwt.event.dom.client.ScrollHandler;
 import com.google.gwt.event.shared.HandlerRegistration;
 import com.google.gwt.safehtml.shared.SafeHtmlBuilder;
 import com.google.gwt.user.cellview.client.CellTable;
 import com.google.gwt.user.cellview.client.Column;
 import com.google.gwt.user.cellview.client.RowStyles;
 import com.google.gwt.user.cellview.client.TextColumn;
+import com.google.gwt.user.client.ui.ScrollPanel;
 import com.google.gwt.view.client.MultiSelectionModel;
 import com.google.gwt.view.client.ProvidesKey;
 import com.google.gwt.view.client.SelectionChangeEvent;
@@ -263,7 +266,7 @@ public class LineTableView extends MultiSelectCellTable<ChunkOrLine> implements
                if (line == null)
                   return "\u00A0";
 
-               if (!line.getAppliesTo()[index])
+               if (!line.appliesTo(index))
                   return "\u00A0";
 
                return intToString(line.getLines()[index]);
@@ -427,6 +430,79 @@ public class LineTableView extends MultiSelectCellTable<ChunkOrLine> implements
       useEndBorder_ = useEndBorder;
    }
 
+   /**
+    * Render rows in batches as the given scroll panel (which contains this
+    * table) approaches the last rendered row, rather than rendering every
+    * row of the diff up front.
+    */
+   public void setScrollPanel(ScrollPanel scrollPanel)
+   {
+      removeScrollHandler();
+      scrollPanel_ = scrollPanel;
+      if (isAttached())
+         addScrollHandler();
+   }
+
+   @Override
+   protected void onLoad()
+   {
+      super.onLoad();
+      addScrollHandler();
+   }
+
+   @Override
+   protected void onUnload()
+   {
+      removeScrollHandler();
+      super.onUnload();
+   }
+
+   private void addScrollHandler()
+   {
+      if (scrollPanel_ == null || scrollHandlerReg_ != null)
+         return;
+
+      scrollHandlerReg_ = scrollPanel_.addScrollHandler(new ScrollHandler()
+      {
+         @Override
+         public void onScroll(ScrollEvent event)
+         {
+            maybeRenderMoreRows();
+         }
+      });
+   }
+
+   private void removeScrollHandler()
+   {
+      if (scrollHandlerReg_ != null)
+      {
+         scrollHandlerReg_.removeHandler();
+         scrollHandlerReg_ = null;
+      }
+   }
+
+   private void maybeRenderMoreRows()
+   {
+      if (renderedRowCount_ >= lines_.size() || !isAttached())
+         return;
+
+      // render another batch once less than a screenful of rendered rows
+      // remains below the visible area
+      int remaining = getElement().getAbsoluteBottom() -
+                      scrollPanel_.getElement().getAbsoluteBottom();
+      if (remaining < scrollPanel_.getOffsetHeight())
+         renderMoreRows();
+   }
+
+   private void renderMoreRows()
+   {
+      int start = renderedRowCount_;
+      renderedRowCount_ = Math.min(lines_.size(),
+                                   renderedRowCount_ + RENDER_BATCH_SIZE);
+      setVisibleRange(0, renderedRowCount_);
+      setRowData(start, lines_.subList(start, renderedRowCount_));
+   }
+
    @Override
    public void setData(ArrayList<ChunkOrLine> diffData, PatchMode patchMode)
    {
@@ -443,10 +519,21 @@ public class LineTableView extends MultiSelectCellTable<ChunkOrLine> implements
       }
 
       lines_ = diffData;
-      setPageSize(diffData.size());
+
+      // keep at least as many rows rendered as before, so the scroll
+      // position survives the diff being refreshed
+      if (scrollPanel_ == null)
+         renderedRowCount_ = diffData.size();
+      else
+         renderedRowCount_ = Math.min(
+               diffData.size(),
+               Math.max(renderedRowCount_, RENDER_BATCH_SIZE));
+
       selectionModel_.clear();
       firstSelectedLine_ = null;
-      setRowData(diffData);
+      setRowCount(diffData.size());
+      setVisibleRange(0, renderedRowCount_);
+      setRowData(0, diffData.subList(0, renderedRowCount_));
 
       startRows_.clear();
       endRows_.clear();
@@ -495,9 +582,26 @@ public class LineTableView extends MultiSelectCellTable<ChunkOrLine> implements
                               || line.getType() == Type.Deletion);
    }
 
+   // select-all covers the whole diff, not just the rows rendered so far,
+   // so that staging or discarding the selection acts on the whole file
+   @Override
+   protected void selectAll()
+   {
+      for (ChunkOrLine line : lines_)
+         selectionModel_.setSelected(line, true);
+   }
+
+   @Override
+   protected void ensureRowRendered(int row)
+   {
+      if (row >= renderedRowCount_ && renderedRowCount_ < lines_.size())
+         renderMoreRows();
+   }
+
    @Override
    public void clear()
    {
+      renderedRowCount_ = 0;
       setData(new ArrayList<ChunkOrLine>(), PatchMode.Working);
    }
 
@@ -553,6 +657,10 @@ public class LineTableView extends MultiSelectCellTable<ChunkOrLine> implements
    private boolean useEndBorder_ = true;
    // Keep explicit track of the first selected line so we can render it differently
    private ChunkOrLine firstSelectedLine_;
+   private ScrollPanel scrollPanel_;
+   private HandlerRegistration scrollHandlerReg_;
+   private int renderedRowCount_;
+   private static final int RENDER_BATCH_SIZE = 500;
    private static final LineTableViewCellTableResources RES = GWT.create(LineTableViewCellTableResources.class);
    private static final LineActionButtonRenderer blueButtonRenderer_ = LineActionButtonRenderer.createBlue();
    private static final LineActionButtonRenderer grayButtonRenderer_ = LineActionButtonRenderer.createGray();
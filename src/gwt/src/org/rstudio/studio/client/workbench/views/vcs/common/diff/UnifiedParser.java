@@ -139,7 +139,9 @@ public class UnifiedParser implements DiffParser
                lines.add(new Line(Type.Same,
                                   MASK_ALL,
                                   clone(positions),
-                                  diffLine.substring(columns),
+                                  data_,
+                                  lineStart_ + columns,
+                                  lineEnd_,
                                   diffIndex_));
                break;
             case '-':
@@ -148,9 +150,11 @@ public class UnifiedParser implements DiffParser
                addToSelected(positions, mask, +1);
                addToSelected(counts, mask, -1);
                lines.add(new Line(Type.Deletion,
-                                  clone(mask),
+                                  mask,
                                   clone(positions),
-                                  diffLine.substring(columns),
+                                  data_,
+                                  lineStart_ + columns,
+                                  lineEnd_,
                                   diffIndex_));
                break;
             case '+':
@@ -161,7 +165,9 @@ public class UnifiedParser implements DiffParser
                lines.add(new Line(Type.Insertion,
                                   complement(mask),
                                   clone(positions),
-                                  diffLine.substring(columns),
+                                  data_,
+                                  lineStart_ + columns,
+                                  lineEnd_,
                                   diffIndex_));
                break;
             case '\\':
@@ -171,7 +177,9 @@ public class UnifiedParser implements DiffParser
                lines.add(new Line(Type.Comment,
                                   MASK_NONE,
                                   clone(positions),
-                                  diffLine.substring(columns),
+                                  data_,
+                                  lineStart_ + columns,
+                                  lineEnd_,
                                   diffIndex_));
                break;
             default:
@@ -205,13 +213,6 @@ public class UnifiedParser implements DiffParser
       return newArray;
    }
 
-   private boolean[] clone(boolean[] array)
-   {
-      boolean[] newArray = new boolean[array.length];
-      System.arraycopy(array, 0, newArray, 0, array.length);
-      return newArray;
-   }
-
    private void addToSelected(int[] array, boolean[] mask, int value)
    {
       for (int i = 0; i < mask.length; i++)
@@ -297,13 +298,20 @@ public class UnifiedParser implements DiffParser
       }
 
       if (!peek)
+      {
+         lineStart_ = head;
+         lineEnd_ = i;
          pos_ = i + length;
+      }
 
       return data_.substring(head, i);
    }
 
    private final String data_;
    private int pos_;
+   // bounds of the line most recently returned by nextLine()
+   private int lineStart_;
+   private int lineEnd_;
    private int diffIndex_;
 }
 
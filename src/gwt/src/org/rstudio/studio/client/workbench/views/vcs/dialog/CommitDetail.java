@@ -134,6 +134,8 @@ public class CommitDetail extends Composite implements CommitDetailDisplay
             view.setUseStartBorder(true);
             view.setUseEndBorder(false);
             view.setShowActions(false);
+            if (container_ != null)
+               view.setScrollPanel(container_);
             view.setData(lines, PatchMode.Stage);
             view.setWidth("100%");
             
@@ -28,6 +28,12 @@ import org.rstudio.studio.client.common.Value;
 import org.rstudio.studio.client.server.ServerError;
 import org.rstudio.studio.client.server.ServerRequestCallback;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public abstract class HistoryAsyncDataProvider extends AsyncDataProvider<CommitInfo>
 {
    @Inject
@@ -68,6 +74,14 @@ public abstract class HistoryAsyncDataProvider extends AsyncDataProvider<CommitI
 
    public void refreshCount()
    {
+      final String key = queryKey();
+      Integer cached = countCache_.get(key);
+      if (cached != null)
+      {
+         updateRowCount(cached, true);
+         return;
+      }
+
       getHistoryCount(
             rev_, 
             fileFilter_.getValue(), 
@@ -77,6 +91,7 @@ public abstract class HistoryAsyncDataProvider extends AsyncDataProvider<CommitI
          @Override
          public void onResponseReceived(CommitCount response)
          {
+            countCache_.put(key, response.getCount());
             updateRowCount(response.getCount(), true);
          }
 
@@ -88,6 +103,17 @@ public abstract class HistoryAsyncDataProvider extends AsyncDataProvider<CommitI
       });
    }
 
+   /**
+    * Forget all cached pages of history, e.g. because commits have been made
+    * or the user has explicitly asked for the history to be refreshed.
+    */
+   public void clearCache()
+   {
+      pageCache_.clear();
+      countCache_.clear();
+      cacheGeneration_++;
+   }
+
    @Override
    public void onRangeChanged(final HasData<CommitInfo> display)
    {      
@@ -98,6 +124,19 @@ public abstract class HistoryAsyncDataProvider extends AsyncDataProvider<CommitI
       if (length == 0)
          return;
 
+      final String key = pageKey(start, length);
+      ArrayList<CommitInfo> cached = pageCache_.get(key);
+      if (cached != null)
+      {
+         showPage(start, length, cached);
+         prefetchNextPage(start, length, cached);
+         return;
+      }
+
+      // the page is being read ahead; it will be shown when it arrives
+      if (prefetching_.contains(key))
+         return;
+
       getHistory(
             rev_, fileFilter_.getValue(),
             start, length, searchText_.getValue(),
@@ -107,9 +146,10 @@ public abstract class HistoryAsyncDataProvider extends AsyncDataProvider<CommitI
                public void onResponseReceived(RpcObjectList<CommitInfo> response)
                {
                   super.onResponseReceived(response);
-                  if (response.length() < length)
-                     updateRowCount(start + response.length(), true);
-                  updateRowData(start, response.toArrayList());
+                  ArrayList<CommitInfo> page = response.toArrayList();
+                  pageCache_.put(key, page);
+                  showPage(start, length, page);
+                  prefetchNextPage(start, length, page);
                }
 
                @Override
@@ -127,6 +167,80 @@ public abstract class HistoryAsyncDataProvider extends AsyncDataProvider<CommitI
             });
    }
 
+   private void showPage(int start, int length, ArrayList<CommitInfo> page)
+   {
+      if (page.size() < length)
+         updateRowCount(start + page.size(), true);
+      updateRowData(start, page);
+   }
+
+   // fetch the page following the one being shown while the user looks at
+   // it, so that paging forward is immediate
+   private void prefetchNextPage(int start,
+                                 int length,
+                                 ArrayList<CommitInfo> page)
+   {
+      if (page.size() < length)
+         return;
+
+      final int nextStart = start + length;
+      final String key = pageKey(nextStart, length);
+      if (pageCache_.containsKey(key) || prefetching_.contains(key))
+         return;
+
+      final int generation = cacheGeneration_;
+      prefetching_.add(key);
+      getHistory(
+            rev_, fileFilter_.getValue(),
+            nextStart, length, searchText_.getValue(),
+            new ServerRequestCallback<RpcObjectList<CommitInfo>>()
+            {
+               @Override
+               public void onResponseReceived(RpcObjectList<CommitInfo> response)
+               {
+                  prefetching_.remove(key);
+
+                  // if the cache was cleared meanwhile, the page may be out
+                  // of date and waiting displays will fetch it afresh
+                  if (generation == cacheGeneration_)
+                     pageCache_.put(key, response.toArrayList());
+                  refreshDisplaysWaitingOn(key);
+               }
+
+               @Override
+               public void onError(ServerError error)
+               {
+                  prefetching_.remove(key);
+
+                  // displays waiting on this page will now fetch it directly
+                  refreshDisplaysWaitingOn(key);
+               }
+            });
+   }
+
+   private void refreshDisplaysWaitingOn(String key)
+   {
+      for (HasData<CommitInfo> display : getDataDisplays())
+      {
+         Range rng = display.getVisibleRange();
+         if (key.equals(pageKey(rng.getStart(), rng.getLength())))
+            onRangeChanged(display);
+      }
+   }
+
+   private String queryKey()
+   {
+      FileSystemItem fileFilter = fileFilter_.getValue();
+      return rev_ + "\n" +
+             (fileFilter == null ? "" : fileFilter.getPath()) + "\n" +
+             searchText_.getValue();
+   }
+
+   private String pageKey(int start, int length)
+   {
+      return queryKey() + "\n" + start + "\n" + length;
+   }
+
    protected abstract void getHistoryCount(
          String revision,
          FileSystemItem fileFilter,
@@ -145,4 +259,21 @@ public abstract class HistoryAsyncDataProvider extends AsyncDataProvider<CommitI
    private HasValue<String> searchText_;
    private HasValue<FileSystemItem> fileFilter_;
    private HistoryStrategy strategy_;
+
+   // pages of history, keyed by revision, file filter, search text and range
+   private final LinkedHashMap<String, ArrayList<CommitInfo>> pageCache_ =
+         new LinkedHashMap<String, ArrayList<CommitInfo>>(16, 0.75f, true)
+         {
+            @Override
+            protected boolean removeEldestEntry(
+                  Map.Entry<String, ArrayList<CommitInfo>> eldest)
+            {
+               return size() > MAX_CACHED_PAGES;
+            }
+         };
+   private final HashSet<String> prefetching_ = new HashSet<String>();
+   private int cacheGeneration_;
+   private final HashMap<String, Integer> countCache_ =
+         new HashMap<String, Integer>();
+   private static final int MAX_CACHED_PAGES = 20;
 }
@@ -39,6 +39,7 @@ import org.rstudio.core.client.Debug;
 import org.rstudio.core.client.Invalidation;
 import org.rstudio.core.client.Invalidation.Token;
 import org.rstudio.core.client.TimeBufferedCommand;
+import org.rstudio.core.client.WidgetHandlerRegistration;
 import org.rstudio.core.client.files.FileSystemItem;
 import org.rstudio.core.client.widget.ProgressIndicator;
 import org.rstudio.core.client.widget.ToolbarButton;
@@ -52,11 +53,17 @@ import org.rstudio.studio.client.workbench.commands.Commands;
 import org.rstudio.studio.client.workbench.model.Session;
 import org.rstudio.studio.client.workbench.views.vcs.common.diff.DiffParser;
 import org.rstudio.studio.client.workbench.views.vcs.common.events.SwitchViewEvent;
+import org.rstudio.studio.client.workbench.views.vcs.common.events.VcsRefreshEvent;
+import org.rstudio.studio.client.workbench.views.vcs.common.events.VcsRefreshEvent.Reason;
+import org.rstudio.studio.client.workbench.views.vcs.common.events.VcsRefreshHandler;
 import org.rstudio.studio.client.workbench.views.vcs.common.events.ViewFileRevisionEvent;
 import org.rstudio.studio.client.workbench.views.vcs.common.events.ViewFileRevisionHandler;
 import org.rstudio.studio.client.workbench.views.vcs.git.dialog.GitHistoryStrategy;
 import org.rstudio.studio.client.workbench.views.vcs.svn.dialog.SVNHistoryStrategy;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
 public class HistoryPresenter
 {
    public interface DisplayBuilder
@@ -194,10 +201,29 @@ public class HistoryPresenter
          @Override
          public void onClick(ClickEvent event)
          {
+            strategy_.clearHistoryCache();
             refreshHistory();
          }
       });
 
+      // commits may have been made, so cached history may be out of date
+      new WidgetHandlerRegistration(view_.asWidget())
+      {
+         @Override
+         protected HandlerRegistration doRegister()
+         {
+            return strategy_.addVcsRefreshHandler(new VcsRefreshHandler()
+            {
+               @Override
+               public void onVcsRefresh(VcsRefreshEvent event)
+               {
+                  if (event.getReason() == Reason.VcsOperation)
+                     strategy_.clearHistoryCache();
+               }
+            });
+         }
+      };
+
       view_.getOverrideSizeWarningButton().addClickHandler(new ClickHandler()
       {
          @Override
@@ -342,6 +368,13 @@ public class HistoryPresenter
       if (commitInfo == null)
          return;
 
+      String cached = commitDetailCache_.get(commitInfo.getId());
+      if (cached != null)
+      {
+         showCommitDetail(commitInfo, cached);
+         return;
+      }
+
       final Token token = invalidation_.getInvalidationToken();
 
       strategy_.showCommit(
@@ -356,10 +389,8 @@ public class HistoryPresenter
                   if (token.isInvalid())
                      return;
 
-                  DiffParser parser = strategy_.createParserForCommit(response);
-                  view_.getCommitDetail().setDetails(
-                                      parser, !strategy_.isShowFileSupported());
-                  commitShowing_ = commitInfo.getId();
+                  cacheCommitDetail(commitInfo.getId(), response);
+                  showCommitDetail(commitInfo, response);
                }
 
                @Override
@@ -378,6 +409,35 @@ public class HistoryPresenter
             });
    }
 
+   private void showCommitDetail(CommitInfo commitInfo, String detail)
+   {
+      DiffParser parser = strategy_.createParserForCommit(detail);
+      view_.getCommitDetail().setDetails(
+                          parser, !strategy_.isShowFileSupported());
+      commitShowing_ = commitInfo.getId();
+   }
+
+   // commits don't change, so their details can be kept until evicted to
+   // make room for others
+   private void cacheCommitDetail(String commitId, String detail)
+   {
+      if (detail.length() > MAX_CACHED_DETAIL_CHARS)
+         return;
+
+      String previous = commitDetailCache_.put(commitId, detail);
+      if (previous != null)
+         commitDetailCacheSize_ -= previous.length();
+      commitDetailCacheSize_ += detail.length();
+
+      Iterator<String> iterator = commitDetailCache_.values().iterator();
+      while (commitDetailCacheSize_ > MAX_CACHED_DETAIL_CHARS &&
+             iterator.hasNext())
+      {
+         commitDetailCacheSize_ -= iterator.next().length();
+         iterator.remove();
+      }
+   }
+
    private void refreshHistory()
    {
       strategy_.refreshCount();
@@ -433,4 +493,10 @@ public class HistoryPresenter
    private final Invalidation invalidation_ = new Invalidation();
    private boolean initialized_;
    private String commitShowing_;
+
+   // details of recently viewed commits, least recently viewed first
+   private final LinkedHashMap<String, String> commitDetailCache_ =
+         new LinkedHashMap<String, String>(16, 0.75f, true);
+   private int commitDetailCacheSize_;
+   private static final int MAX_CACHED_DETAIL_CHARS = 4 * 1024 * 1024;
 }
@@ -57,6 +57,8 @@ public interface HistoryStrategy
 
    void refreshCount();
 
+   void clearHistoryCache();
+
    void initializeHistory(HasData<CommitInfo> dataDisplay);
 
    AbstractPager getPager();
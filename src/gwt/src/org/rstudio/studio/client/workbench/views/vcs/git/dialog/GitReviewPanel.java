@@ -241,6 +241,7 @@ public class GitReviewPanel extends ResizeComposite implements Display
 
       Widget widget = GWT.<Binder>create(Binder.class).createAndBindUi(this);
       initWidget(widget);
+      lines_.setScrollPanel(diffScroll_);
 
       topToolbar_.addStyleName(RES.styles().toolbar());
       topToolbar_.getWrapper().addStyleName(RES.styles().toolbarInnerWrapper());
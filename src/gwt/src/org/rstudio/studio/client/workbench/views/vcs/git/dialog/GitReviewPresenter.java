@@ -78,6 +78,8 @@ import org.rstudio.studio.client.workbench.views.vcs.git.model.GitState;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 public class GitReviewPresenter implements ReviewPresenter
@@ -708,6 +710,7 @@ public class GitReviewPresenter implements ReviewPresenter
                            boolean reverse,
                            PatchMode patchMode)
    {
+      ArrayList<Line> appliedLines = lines;
       chunks = new ArrayList<DiffChunk>(chunks);
 
       if (reverse)
@@ -729,7 +732,63 @@ public class GitReviewPresenter implements ReviewPresenter
       softModeSwitch_ = true;
       server_.gitApplyPatch(patch, patchMode,
                             StringUtil.notNull(currentSourceEncoding_),
-                            new SimpleRequestCallback<Void>());
+                            new SimpleRequestCallback<Void>()
+                            {
+                               @Override
+                               public void onError(ServerError error)
+                               {
+                                  super.onError(error);
+
+                                  // the diff shown may assume the patch
+                                  // succeeded
+                                  invalidateCachedDiffs(currentFilename_);
+                                  currentResponse_ = null;
+                                  updateDiff(false);
+                               }
+                            });
+
+      // Staging from the unstaged view turns the staged insertions into
+      // context and drops the staged deletions; unstaging and discarding do
+      // the reverse. Show the result right away rather than waiting on the
+      // refresh which follows the patch; that refresh's diff is compared
+      // against this one and only redisplayed if they differ.
+      invalidateCachedDiffs(currentFilename_);
+      if (displayedDiffKey_ == null)
+         return;
+
+      ArrayList<DiffChunk> patched = DiffChunkPatcher.apply(
+            activeChunks_, appliedLines, !reverse);
+      if (patched == null)
+         return;
+
+      diffCache_.put(displayedDiffKey_,
+                     new CachedDiff(null, currentSourceEncoding_, patched));
+      currentResponse_ = null;
+      showDiff(patched, displayedPatchMode_);
+   }
+
+   private void showDiff(ArrayList<DiffChunk> chunks, PatchMode patchMode)
+   {
+      ArrayList<ChunkOrLine> allLines = new ArrayList<ChunkOrLine>();
+      for (DiffChunk chunk : chunks)
+      {
+         allLines.add(new ChunkOrLine(chunk));
+         for (Line line : chunk.getLines())
+            allLines.add(new ChunkOrLine(line));
+      }
+
+      activeChunks_ = chunks;
+      displayedPatchMode_ = patchMode;
+      view_.setData(allLines, patchMode);
+   }
+
+   private void invalidateCachedDiffs(String path)
+   {
+      if (path == null)
+         return;
+
+      String prefix = path + "\n";
+      diffCache_.keySet().removeIf(key -> key.startsWith(prefix));
    }
 
    private void updateDiff(boolean allowModeSwitch)
@@ -791,12 +850,32 @@ public class GitReviewPresenter implements ReviewPresenter
       final PatchMode patchMode = view_.getStagedCheckBox().getValue()
                                   ? PatchMode.Stage
                                   : PatchMode.Working;
+      final int contextLines = view_.getContextLines().getValue();
+      final boolean ignoreWhitespace =
+            uiPrefs_.gitDiffIgnoreWhitespace().getValue();
+      final String cacheKey = item.getPath() + "\n" + patchMode + "\n" +
+                              contextLines + "\n" + ignoreWhitespace;
+
+      // show a cached diff immediately; the server's diff then replaces it
+      // only if it has changed
+      CachedDiff cached = diffCache_.get(cacheKey);
+      if (cached != null && !cacheKey.equals(displayedDiffKey_))
+      {
+         currentResponse_ = cached.response;
+         currentSourceEncoding_ = cached.sourceEncoding;
+         displayedDiffKey_ = cacheKey;
+         view_.setShowActions(
+               !"??".equals(item.getStatus()) &&
+               !"UU".equals(item.getStatus()));
+         showDiff(cached.chunks, patchMode);
+      }
+
       server_.gitDiffFile(
             item.getPath(),
             patchMode,
-            view_.getContextLines().getValue(),
+            contextLines,
             overrideSizeWarning_,
-            uiPrefs_.gitDiffIgnoreWhitespace().getValue(),
+            ignoreWhitespace,
             new SimpleRequestCallback<DiffResult>("Diff Error")
             {
                @Override
@@ -807,7 +886,8 @@ public class GitReviewPresenter implements ReviewPresenter
 
                   // Use lastResponse_ to prevent unnecessary flicker
                   String response = diffResult.getDecodedValue();
-                  if (response.equals(currentResponse_))
+                  if (response.equals(currentResponse_) &&
+                      cacheKey.equals(displayedDiffKey_))
                      return;
                   currentResponse_ = response;
                   currentSourceEncoding_ = diffResult.getSourceEncoding();
@@ -815,22 +895,30 @@ public class GitReviewPresenter implements ReviewPresenter
                   UnifiedParser parser = new UnifiedParser(response);
                   parser.nextFilePair();
 
-                  ArrayList<ChunkOrLine> allLines = new ArrayList<ChunkOrLine>();
-
-                  activeChunks_.clear();
+                  ArrayList<DiffChunk> chunks = new ArrayList<DiffChunk>();
                   for (DiffChunk chunk;
                        null != (chunk = parser.nextChunk());)
                   {
-                     activeChunks_.add(chunk);
-                     allLines.add(new ChunkOrLine(chunk));
-                     for (Line line : chunk.getLines())
-                        allLines.add(new ChunkOrLine(line));
+                     chunks.add(chunk);
                   }
 
+                  diffCache_.put(cacheKey, new CachedDiff(
+                        response, currentSourceEncoding_, chunks));
+
                   view_.setShowActions(
                         !"??".equals(item.getStatus()) &&
                         !"UU".equals(item.getStatus()));
-                  view_.setData(allLines, patchMode);
+
+                  // the displayed diff (e.g. one patched locally) is
+                  // already up to date
+                  if (cacheKey.equals(displayedDiffKey_) &&
+                      DiffChunkPatcher.isSameDiff(chunks, activeChunks_))
+                  {
+                     return;
+                  }
+
+                  displayedDiffKey_ = cacheKey;
+                  showDiff(chunks, patchMode);
                }
 
                @Override
@@ -853,6 +941,7 @@ public class GitReviewPresenter implements ReviewPresenter
       softModeSwitch_ = false;
       currentResponse_ = null;
       currentFilename_ = null;
+      displayedDiffKey_ = null;
       view_.getLineTableDisplay().clear();
    }
 
@@ -947,4 +1036,36 @@ public class GitReviewPresenter implements ReviewPresenter
    private final int gitCommitLargeFileSize_;
 
    private boolean overrideSizeWarning_ = false;
+
+   private static class CachedDiff
+   {
+      public CachedDiff(String response,
+                        String sourceEncoding,
+                        ArrayList<DiffChunk> chunks)
+      {
+         this.response = response;
+         this.sourceEncoding = sourceEncoding;
+         this.chunks = chunks;
+      }
+
+      // null for a diff patched locally rather than received from the server
+      public final String response;
+      public final String sourceEncoding;
+      public final ArrayList<DiffChunk> chunks;
+   }
+
+   // parsed diffs, keyed by path, patch mode, context lines and whitespace
+   // handling
+   private final LinkedHashMap<String, CachedDiff> diffCache_ =
+         new LinkedHashMap<String, CachedDiff>(16, 0.75f, true)
+         {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedDiff> eldest)
+            {
+               return size() > MAX_CACHED_DIFFS;
+            }
+         };
+   private String displayedDiffKey_;
+   private PatchMode displayedPatchMode_;
+   private static final int MAX_CACHED_DIFFS = 20;
 }
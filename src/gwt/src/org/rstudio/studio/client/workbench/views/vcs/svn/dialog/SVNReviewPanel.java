@@ -220,6 +220,7 @@ public class SVNReviewPanel extends ResizeComposite implements Display
 
       Widget widget = GWT.<Binder>create(Binder.class).createAndBindUi(this);
       initWidget(widget);
+      lines_.setScrollPanel(diffScroll_);
 
       topToolbar_.addStyleName(RES.styles().toolbar());
       topToolbar_.getWrapper().addStyleName(RES.styles().toolbarInnerWrapper());
@@ -640,5 +640,19 @@ public class ConsoleOutputWriterTests extends GWTTestCase
       Assert.assertEquals(
             "<span class=\"myClass\">one\ntwo\nthree</span>",
             getInnerHTML(output));
-   } 
- }
+   }
+
+   public void testLineCountMatchesDomWithOverwrites()
+   {
+      ConsoleOutputWriter output = getCOW();
+
+      output.outputToConsole("one\ntwo\n", myClass, notError, ignoreLineCount, false);
+      output.outputToConsole("progress 10%", myClass, notError, ignoreLineCount, false);
+      output.outputToConsole("\rprogress 100%\n", myClass, notError, ignoreLineCount, false);
+      output.outputToConsole("err\n", myErrorClass, isError, ignoreLineCount, false);
+
+      Assert.assertEquals(4, output.getCurrentLines());
+      Assert.assertEquals(DomUtils.countLines(output.getElement(), true),
+            output.getCurrentLines());
+   }
+}
@@ -14,6 +14,7 @@
  */
 package org.rstudio.core.client;
 
+import org.rstudio.core.client.dom.DomUtils;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 
 import com.google.gwt.dom.client.Document;
@@ -1079,4 +1080,57 @@ public class VirtualConsoleTests extends GWTTestCase
       Assert.assertEquals(expected, ele.getInnerHTML());
       Assert.assertEquals("one two", vc.toString());
    }
+
+   public void testNewlineCountMatchesDom()
+   {
+      PreElement ele = Document.get().createPreElement();
+      VirtualConsole vc = getVC(ele);
+      Assert.assertEquals(0, vc.getNewlineCount());
+
+      vc.submit("a\nb\nc", "A");
+      Assert.assertEquals(2, vc.getNewlineCount());
+      Assert.assertEquals(DomUtils.countLines(ele, true), vc.getNewlineCount());
+
+      vc.submit("\rX\n", "B");
+      Assert.assertEquals(3, vc.getNewlineCount());
+      Assert.assertEquals(DomUtils.countLines(ele, true), vc.getNewlineCount());
+
+      // backspace over a newline and overwrite it
+      vc.submit("\b\b\bY", "B");
+      Assert.assertEquals("a\nbYX\n", vc.toString());
+      Assert.assertEquals(2, vc.getNewlineCount());
+      Assert.assertEquals(DomUtils.countLines(ele, true), vc.getNewlineCount());
+
+      vc.submit("one\ntwo\fthree\n");
+      Assert.assertEquals(1, vc.getNewlineCount());
+      Assert.assertEquals(DomUtils.countLines(ele, true), vc.getNewlineCount());
+   }
+
+   public void testAnsiStateCarriedAcrossConsoles()
+   {
+      int color = AnsiCode.ForeColorNum.RED;
+      PreElement first = Document.get().createPreElement();
+      VirtualConsole vc1 = getVC(first);
+      vc1.submit("plain\n" + setCsiCode(color) + "red\n");
+
+      // output continued in a second console, as when a line-capped buffer
+      // starts a new block, keeps the color set in the first
+      PreElement second = Document.get().createPreElement();
+      VirtualConsole vc2 = getVC(second);
+      vc2.setAnsiState(vc1.getAnsiState());
+      vc2.submit("still red" + setCsiCode(AnsiCode.RESET_FOREGROUND) + " plain");
+      String expected =
+            "<span class=\"" +
+            AnsiCode.clazzForColor(color) + "\">still red</span>" +
+            "<span> plain</span>";
+      Assert.assertEquals(expected, second.getInnerHTML());
+
+      // the state is copied, so later output in the first console doesn't
+      // affect the second
+      int green = AnsiCode.ForeColorNum.GREEN;
+      vc1.submit(setCsiCode(green) + "green");
+      vc2.submit("!");
+      Assert.assertFalse(second.getInnerHTML().contains(
+            AnsiCode.clazzForColor(green)));
+   }
 }
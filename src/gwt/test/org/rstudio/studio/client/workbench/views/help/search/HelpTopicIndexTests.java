@@ -0,0 +1,66 @@
+/*
+ * HelpTopicIndexTests.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.help.search;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+public class HelpTopicIndexTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   private HelpTopicIndex createIndex()
+   {
+      return new HelpTopicIndex(Arrays.asList(
+            "lapply", "length", "levels", "list", "list2env", ".libPaths",
+            "library", "lm", "sapply", "seq_len"));
+   }
+
+   public void testPrefixMatchesShortestFirst()
+   {
+      List<String> results = createIndex().suggest("li", 10);
+      assertEquals(Arrays.asList("list", "library", ".libPaths"),
+                   results.subList(0, 3));
+   }
+
+   public void testLeadingDotsIgnored()
+   {
+      List<String> results = createIndex().suggest("libp", 10);
+      assertEquals(".libPaths", results.get(0));
+   }
+
+   public void testSubsequenceMatchesFollowPrefixMatches()
+   {
+      List<String> results = createIndex().suggest("lpl", 10);
+      assertEquals(Arrays.asList("lapply"), results);
+   }
+
+   public void testFirstCharacterMustMatch()
+   {
+      List<String> results = createIndex().suggest("ply", 10);
+      assertTrue(results.isEmpty());
+   }
+
+   public void testLimit()
+   {
+      assertEquals(2, createIndex().suggest("l", 2).size());
+   }
+}
@@ -0,0 +1,104 @@
+/*
+ * DiffChunkPatcherTest.java
+ *
+ * Copyright (C) 2020 by RStudio, PBC
+ *
+ * Unless you have received this program directly from RStudio pursuant
+ * to the terms of a commercial license agreement with RStudio, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.vcs.common.diff;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+
+public class DiffChunkPatcherTest extends TestCase
+{
+   private static final String DIFF =
+         "@@ -1,4 +1,4 @@\n" +
+         " a\n" +
+         "-b\n" +
+         "+B\n" +
+         " c\n" +
+         " d\n" +
+         "@@ -10,3 +10,4 @@\n" +
+         " j\n" +
+         "+x\n" +
+         " k\n" +
+         " l\n";
+
+   public void testStageChunk()
+   {
+      ArrayList<DiffChunk> chunks = parse(DIFF);
+      ArrayList<DiffChunk> patched = DiffChunkPatcher.apply(
+            chunks, chunks.get(0).getLines(), true);
+
+      // the first chunk no longer differs; the second is unchanged
+      assertTrue(DiffChunkPatcher.isSameDiff(parse(
+            "@@ -10,3 +10,4 @@\n" +
+            " j\n" +
+            "+x\n" +
+            " k\n" +
+            " l\n"), patched));
+   }
+
+   public void testStageLine()
+   {
+      ArrayList<DiffChunk> chunks = parse(DIFF);
+      ArrayList<Line> lines = new ArrayList<Line>();
+      lines.add(chunks.get(0).getLines().get(2));
+      ArrayList<DiffChunk> patched = DiffChunkPatcher.apply(chunks, lines, true);
+
+      // staging the insertion alone adds a line to the old side, shifting
+      // the following chunk
+      assertTrue(DiffChunkPatcher.isSameDiff(parse(
+            "@@ -1,5 +1,4 @@\n" +
+            " a\n" +
+            "-b\n" +
+            " B\n" +
+            " c\n" +
+            " d\n" +
+            "@@ -11,3 +10,4 @@\n" +
+            " j\n" +
+            "+x\n" +
+            " k\n" +
+            " l\n"), patched));
+   }
+
+   public void testUnstageLine()
+   {
+      ArrayList<DiffChunk> chunks = parse(DIFF);
+      ArrayList<Line> lines = new ArrayList<Line>();
+      lines.add(chunks.get(0).getLines().get(1));
+      ArrayList<DiffChunk> patched = DiffChunkPatcher.apply(chunks, lines, false);
+
+      // unstaging the deletion alone restores the line on the new side
+      assertTrue(DiffChunkPatcher.isSameDiff(parse(
+            "@@ -1,4 +1,5 @@\n" +
+            " a\n" +
+            " b\n" +
+            "+B\n" +
+            " c\n" +
+            " d\n" +
+            "@@ -10,3 +11,4 @@\n" +
+            " j\n" +
+            "+x\n" +
+            " k\n" +
+            " l\n"), patched));
+   }
+
+   private ArrayList<DiffChunk> parse(String diff)
+   {
+      ArrayList<DiffChunk> chunks = new ArrayList<DiffChunk>();
+      UnifiedParser parser = new UnifiedParser(diff);
+      for (DiffChunk chunk; null != (chunk = parser.nextChunk()); )
+         chunks.add(chunk);
+      return chunks;
+   }
+}